@@ -0,0 +1,197 @@
+package com.lhc.datastructure.heap;
+
+import java.util.Comparator;
+
+/**
+ * d叉堆
+ * 用数组表示的完全d叉树，索引i的孩子为d * i + 1 ... d * i + d，父亲为(i - 1) / d
+ * 堆顶是comparator意义下最大的元素，传入Comparator.reverseOrder()即可得到最小堆
+ * 叉数越大，树越矮，上浮越快；下沉时每层要比较d个孩子，但这d个孩子在数组中是连续的，
+ * 一般4叉或8叉堆的孩子恰好落在一两个缓存行里，比二叉堆的缓存命中率更高
+ * 上浮和下沉都使用"空穴"的方式：先把要移动的元素拿出来，沿路径把父亲(孩子)逐个移进空穴，
+ * 最后再把元素放进空穴，每层只需要一次赋值，而不是一次交换
+ *
+ * @param <E>
+ */
+public class DaryHeap<E> {
+
+    private static final int MIN_SIZE = 10;
+    private final int arity;
+    private final Comparator<? super E> comparator;
+    private E[] data;
+    private int size;
+
+    /**
+     * 使用元素的自然顺序，等价于MaxHeap
+     */
+    public DaryHeap(int arity) {
+        this(arity, null);
+    }
+
+    /**
+     * @param arity      叉数，一般取2、4、8
+     * @param comparator 为null时使用元素的自然顺序
+     */
+    public DaryHeap(int arity, Comparator<? super E> comparator) {
+        this(arity, comparator, MIN_SIZE);
+    }
+
+    public DaryHeap(int arity, Comparator<? super E> comparator, int capacity) {
+        if (arity < 2) {
+            throw new IllegalArgumentException("arity must be at least 2");
+        }
+        this.arity = arity;
+        this.comparator = comparator != null ? comparator : (Comparator<? super E>) Comparator.naturalOrder();
+        this.data = (E[]) new Object[Math.max(1, capacity)];
+        this.size = 0;
+    }
+
+    /**
+     * heapify，从最后一个非叶子节点开始依次下沉，时间复杂度O(n)
+     */
+    public DaryHeap(int arity, Comparator<? super E> comparator, E[] arr) {
+        this(arity, comparator, arr.length);
+        System.arraycopy(arr, 0, data, 0, arr.length);
+        size = arr.length;
+        for (int i = (size - 2) / arity; i >= 0 && size > 1; i--) {
+            shiftDown(i, data[i]);
+        }
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int getArity() {
+        return arity;
+    }
+
+    public Comparator<? super E> comparator() {
+        return comparator;
+    }
+
+    /**
+     * 时间复杂度O(log_d(n))
+     */
+    public void add(E e) {
+        if (size == data.length) {
+            resize(data.length * 2);
+        }
+        shiftUp(size++, e);
+    }
+
+    /**
+     * 查看堆顶元素，堆为空时返回null
+     */
+    public E peek() {
+        return size == 0 ? null : data[0];
+    }
+
+    /**
+     * 取出堆顶元素，时间复杂度O(d * log_d(n))
+     */
+    public E extract() {
+        if (size == 0) {
+            throw new IllegalArgumentException("heap is empty");
+        }
+        E ret = data[0];
+        E last = data[--size];
+        data[size] = null;
+        if (size > 0) {
+            shiftDown(0, last);
+        }
+        if (size <= data.length / 4 && data.length / 2 >= MIN_SIZE) {
+            resize(data.length / 2);
+        }
+        return ret;
+    }
+
+    /**
+     * 取出堆顶元素，并且替换成元素e，只需要一次下沉
+     */
+    public E replace(E e) {
+        if (size == 0) {
+            throw new IllegalArgumentException("heap is empty");
+        }
+        E ret = data[0];
+        shiftDown(0, e);
+        return ret;
+    }
+
+    /**
+     * 把e放进空穴index，沿着父亲路径上浮
+     */
+    private void shiftUp(int index, E e) {
+        while (index > 0) {
+            int parent = (index - 1) / arity;
+            E p = data[parent];
+            if (comparator.compare(e, p) <= 0) {
+                break;
+            }
+            data[index] = p;
+            index = parent;
+        }
+        data[index] = e;
+    }
+
+    /**
+     * 把e放进空穴index，每次和最大的孩子比较并下沉
+     */
+    private void shiftDown(int index, E e) {
+        while (true) {
+            int first = arity * index + 1;
+            if (first >= size) {
+                break;
+            }
+            int last = Math.min(first + arity, size);
+            int j = first;
+            E child = data[first];
+            for (int k = first + 1; k < last; k++) {
+                if (comparator.compare(data[k], child) > 0) {
+                    j = k;
+                    child = data[k];
+                }
+            }
+            if (comparator.compare(e, child) >= 0) {
+                break;
+            }
+            data[index] = child;
+            index = j;
+        }
+        data[index] = e;
+    }
+
+    /**
+     * @return 按数组顺序(不是有序的)复制出的所有元素
+     */
+    public Object[] toArray() {
+        Object[] ret = new Object[size];
+        System.arraycopy(data, 0, ret, 0, size);
+        return ret;
+    }
+
+    private void resize(int newCapacity) {
+        E[] newData = (E[]) new Object[newCapacity];
+        System.arraycopy(data, 0, newData, 0, size);
+        data = newData;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("DaryHeap: arity = %d , size = %d\n", arity, size));
+        sb.append("top [");
+        for (int i = 0; i < size; i++) {
+            sb.append(data[i]);
+            if (i != size - 1) {
+                sb.append(", ");
+            }
+        }
+        sb.append(']');
+        return sb.toString();
+    }
+}
@@ -0,0 +1,210 @@
+package com.lhc.datastructure.heap;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * 索引堆
+ * 每个元素有一个整数句柄handle(0 ... capacity - 1)，可以通过句柄修改或删除任意元素
+ * keys[handle] 句柄对应的元素
+ * heap[i] 堆中第i个位置上的句柄
+ * pos[handle] 句柄在堆中的位置，不在堆中时为-1，与heap互为反函数
+ * 句柄和位置都用int数组记录，不需要额外的节点对象
+ * 与DaryHeap一样，堆顶是comparator意义下最大的元素，上浮下沉都使用空穴的方式
+ * 句柄超出当前容量时自动扩容
+ *
+ * @param <E>
+ */
+public class IndexHeap<E> {
+
+    private static final int MIN_SIZE = 10;
+    private final Comparator<? super E> comparator;
+    private E[] keys;
+    private int[] heap;
+    private int[] pos;
+    private int size;
+
+    public IndexHeap() {
+        this(MIN_SIZE, null);
+    }
+
+    /**
+     * @param capacity   句柄的范围[0, capacity)
+     * @param comparator 为null时使用元素的自然顺序
+     */
+    public IndexHeap(int capacity, Comparator<? super E> comparator) {
+        capacity = Math.max(1, capacity);
+        this.comparator = comparator != null ? comparator : (Comparator<? super E>) Comparator.naturalOrder();
+        keys = (E[]) new Object[capacity];
+        heap = new int[capacity];
+        pos = new int[capacity];
+        Arrays.fill(pos, -1);
+        size = 0;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean contains(int handle) {
+        return handle >= 0 && handle < pos.length && pos[handle] != -1;
+    }
+
+    /**
+     * 时间复杂度O(logn)
+     */
+    public void add(int handle, E key) {
+        if (handle < 0) {
+            throw new IllegalArgumentException("handle is out of bounds");
+        }
+        if (handle >= pos.length) {
+            resize(Math.max(handle + 1, pos.length * 2));
+        }
+        if (pos[handle] != -1) {
+            throw new IllegalArgumentException("handle is already in the heap");
+        }
+        keys[handle] = key;
+        shiftUp(size++, handle);
+    }
+
+    /**
+     * 查看堆顶元素的句柄
+     */
+    public int peekHandle() {
+        if (size == 0) {
+            throw new IllegalArgumentException("heap is empty");
+        }
+        return heap[0];
+    }
+
+    /**
+     * 查看堆顶元素，堆为空时返回null
+     */
+    public E peek() {
+        return size == 0 ? null : keys[heap[0]];
+    }
+
+    public E getKey(int handle) {
+        checkHandle(handle);
+        return keys[handle];
+    }
+
+    /**
+     * 取出堆顶元素，返回它的句柄，时间复杂度O(logn)
+     */
+    public int extract() {
+        int handle = peekHandle();
+        remove(handle);
+        return handle;
+    }
+
+    /**
+     * 修改句柄对应的元素，根据新元素的大小上浮或下沉，时间复杂度O(logn)
+     */
+    public void changeKey(int handle, E key) {
+        checkHandle(handle);
+        E old = keys[handle];
+        keys[handle] = key;
+        if (comparator.compare(key, old) > 0) {
+            shiftUp(pos[handle], handle);
+        } else {
+            shiftDown(pos[handle], handle);
+        }
+    }
+
+    /**
+     * 删除句柄对应的元素，把最后一个位置的句柄移到空出的位置再上浮或下沉，时间复杂度O(logn)
+     *
+     * @return 被删除的元素
+     */
+    public E remove(int handle) {
+        checkHandle(handle);
+        int index = pos[handle];
+        E ret = keys[handle];
+        int last = heap[--size];
+        pos[handle] = -1;
+        keys[handle] = null;
+        if (index != size) {
+            if (index > 0 && comparator.compare(keys[last], keys[heap[(index - 1) / 2]]) > 0) {
+                shiftUp(index, last);
+            } else {
+                shiftDown(index, last);
+            }
+        }
+        return ret;
+    }
+
+    private void checkHandle(int handle) {
+        if (!contains(handle)) {
+            throw new IllegalArgumentException("handle is not in the heap");
+        }
+    }
+
+    /**
+     * 把句柄handle放进空穴index，沿着父亲路径上浮
+     */
+    private void shiftUp(int index, int handle) {
+        E key = keys[handle];
+        while (index > 0) {
+            int parent = (index - 1) / 2;
+            int p = heap[parent];
+            if (comparator.compare(key, keys[p]) <= 0) {
+                break;
+            }
+            heap[index] = p;
+            pos[p] = index;
+            index = parent;
+        }
+        heap[index] = handle;
+        pos[handle] = index;
+    }
+
+    /**
+     * 把句柄handle放进空穴index，每次和较大的孩子比较并下沉
+     */
+    private void shiftDown(int index, int handle) {
+        E key = keys[handle];
+        while (2 * index + 1 < size) {
+            int j = 2 * index + 1;
+            if (j + 1 < size && comparator.compare(keys[heap[j + 1]], keys[heap[j]]) > 0) {
+                j++;
+            }
+            int c = heap[j];
+            if (comparator.compare(key, keys[c]) >= 0) {
+                break;
+            }
+            heap[index] = c;
+            pos[c] = index;
+            index = j;
+        }
+        heap[index] = handle;
+        pos[handle] = index;
+    }
+
+    private void resize(int newCapacity) {
+        keys = Arrays.copyOf(keys, newCapacity);
+        heap = Arrays.copyOf(heap, newCapacity);
+        int oldCapacity = pos.length;
+        pos = Arrays.copyOf(pos, newCapacity);
+        Arrays.fill(pos, oldCapacity, newCapacity, -1);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("IndexHeap: size = %d\n", size));
+        sb.append("top [");
+        for (int i = 0; i < size; i++) {
+            sb.append(heap[i]).append('=').append(keys[heap[i]]);
+            if (i != size - 1) {
+                sb.append(", ");
+            }
+        }
+        sb.append(']');
+        return sb.toString();
+    }
+}
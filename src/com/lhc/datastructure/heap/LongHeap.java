@@ -0,0 +1,228 @@
+package com.lhc.datastructure.heap;
+
+import java.util.Arrays;
+
+/**
+ * long类型的二叉堆
+ * 方法名与DaryHeap相同，底层直接使用long[]存储，避免装箱和Comparator的虚方法调用
+ * 与DaryHeap不同的是，基本类型没有null可以返回，堆为空时peek会抛出异常
+ * 构造时指定是最大堆还是最小堆
+ * 可以选择为每个元素附带一个int类型的负载(例如元素在其他数组中的下标)，负载存放在平行的int[]中，
+ * 随元素一起移动，这样不需要为每个元素创建对象就能实现优先队列
+ */
+public class LongHeap {
+
+    private static final int MIN_SIZE = 10;
+    private final boolean max;
+    private long[] keys;
+    /**
+     * 不需要负载时为null
+     */
+    private int[] payloads;
+    private int size;
+
+    public LongHeap(boolean max) {
+        this(MIN_SIZE, max, false);
+    }
+
+    /**
+     * @param capacity
+     * @param max         true为最大堆，false为最小堆
+     * @param withPayload 是否为每个元素附带int负载
+     */
+    public LongHeap(int capacity, boolean max, boolean withPayload) {
+        capacity = Math.max(1, capacity);
+        this.max = max;
+        this.keys = new long[capacity];
+        this.payloads = withPayload ? new int[capacity] : null;
+        this.size = 0;
+    }
+
+    /**
+     * heapify，从最后一个非叶子节点开始依次下沉，时间复杂度O(n)
+     *
+     * @param keys
+     * @param payloads 不需要负载时传入null，否则长度必须与keys相同
+     * @param max
+     */
+    public LongHeap(long[] keys, int[] payloads, boolean max) {
+        if (payloads != null && payloads.length != keys.length) {
+            throw new IllegalArgumentException("payloads must have the same length as keys");
+        }
+        this.max = max;
+        this.keys = Arrays.copyOf(keys, Math.max(1, keys.length));
+        this.payloads = payloads == null ? null : Arrays.copyOf(payloads, Math.max(1, payloads.length));
+        this.size = keys.length;
+        for (int i = (size - 2) / 2; size > 1 && i >= 0; i--) {
+            shiftDown(i, this.keys[i], this.payloads == null ? 0 : this.payloads[i]);
+        }
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean isMaxHeap() {
+        return max;
+    }
+
+    public void add(long key) {
+        add(key, 0);
+    }
+
+    /**
+     * 没有负载时忽略payload，时间复杂度O(logn)
+     */
+    public void add(long key, int payload) {
+        if (size == keys.length) {
+            resize(keys.length * 2);
+        }
+        shiftUp(size++, key, payload);
+    }
+
+    /**
+     * 堆为空时抛出IllegalArgumentException，而DaryHeap.peek返回null
+     */
+    public long peek() {
+        checkNotEmpty();
+        return keys[0];
+    }
+
+    public int peekPayload() {
+        checkNotEmpty();
+        checkPayload();
+        return payloads[0];
+    }
+
+    /**
+     * 取出堆顶元素，时间复杂度O(logn)
+     */
+    public long extract() {
+        long ret = peek();
+        removeTop();
+        return ret;
+    }
+
+    /**
+     * 取出堆顶元素，返回它的负载
+     */
+    public int extractPayload() {
+        int ret = peekPayload();
+        removeTop();
+        return ret;
+    }
+
+    /**
+     * 取出堆顶元素，并且替换成key，只需要一次下沉
+     */
+    public long replace(long key) {
+        return replace(key, 0);
+    }
+
+    public long replace(long key, int payload) {
+        long ret = peek();
+        shiftDown(0, key, payload);
+        return ret;
+    }
+
+    private void removeTop() {
+        size--;
+        if (size > 0) {
+            shiftDown(0, keys[size], payloads == null ? 0 : payloads[size]);
+        }
+    }
+
+    private void checkNotEmpty() {
+        if (size == 0) {
+            throw new IllegalArgumentException("heap is empty");
+        }
+    }
+
+    private void checkPayload() {
+        if (payloads == null) {
+            throw new IllegalStateException("heap has no payloads");
+        }
+    }
+
+    /**
+     * a是否应该排在b的上面
+     */
+    private boolean above(long a, long b) {
+        return max ? a > b : a < b;
+    }
+
+    /**
+     * 把元素放进空穴index，沿着父亲路径上浮
+     */
+    private void shiftUp(int index, long key, int payload) {
+        while (index > 0) {
+            int parent = (index - 1) / 2;
+            if (!above(key, keys[parent])) {
+                break;
+            }
+            keys[index] = keys[parent];
+            if (payloads != null) {
+                payloads[index] = payloads[parent];
+            }
+            index = parent;
+        }
+        keys[index] = key;
+        if (payloads != null) {
+            payloads[index] = payload;
+        }
+    }
+
+    /**
+     * 把元素放进空穴index，每次和更靠上的孩子比较并下沉
+     */
+    private void shiftDown(int index, long key, int payload) {
+        int half = size / 2;
+        while (index < half) {
+            int j = 2 * index + 1;
+            if (j + 1 < size && above(keys[j + 1], keys[j])) {
+                j++;
+            }
+            if (!above(keys[j], key)) {
+                break;
+            }
+            keys[index] = keys[j];
+            if (payloads != null) {
+                payloads[index] = payloads[j];
+            }
+            index = j;
+        }
+        keys[index] = key;
+        if (payloads != null) {
+            payloads[index] = payload;
+        }
+    }
+
+    private void resize(int newCapacity) {
+        keys = Arrays.copyOf(keys, newCapacity);
+        if (payloads != null) {
+            payloads = Arrays.copyOf(payloads, newCapacity);
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%s: size = %d\n", max ? "LongHeap(max)" : "LongHeap(min)", size));
+        sb.append("top [");
+        for (int i = 0; i < size; i++) {
+            sb.append(keys[i]);
+            if (payloads != null) {
+                sb.append('=').append(payloads[i]);
+            }
+            if (i != size - 1) {
+                sb.append(", ");
+            }
+        }
+        sb.append(']');
+        return sb.toString();
+    }
+}
@@ -0,0 +1,161 @@
+package com.lhc.datastructure.heap;
+
+import java.util.Comparator;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 并发的松弛优先队列，MultiQueue(Rihani, Sanders, Dementiev 2015)
+ * 由n个各自加锁的子堆组成，n一般取线程数的c倍(c = 2)：
+ * 入队：随机挑选一个子堆，tryLock成功就放入，失败就换一个子堆
+ * 出队：随机挑选两个子堆，比较它们缓存在volatile字段里的堆顶(不需要加锁)，
+ * 从堆顶更大的子堆中tryLock后取出，失败就重新挑选
+ * 线程之间几乎不会争抢同一把锁，也不存在一个全局的热点，因此可以随线程数扩展
+ * <p>
+ * 代价是出队的元素不一定是全局最大的，用"秩误差"衡量：比取出的元素更大、但还留在队列中的元素个数
+ * 两次随机选择中取较好的那个，使得各个子堆的堆顶保持均衡(balls into bins的two-choice效应)，
+ * 秩误差的期望为O(n)，并且以很高的概率不超过O(nlogn)(Alistarh et al. 2017)，与队列中元素的总数无关
+ * 只用一次随机选择时秩误差会随着操作次数无限增长，所以两次选择是必要的
+ * 可以用TestMultiQueue实际测量秩误差
+ *
+ * @param <E>
+ */
+public class MultiQueue<E> {
+
+    private static final int C = 2;
+    private static final int ARITY = 4;
+
+    private static final class SubHeap<E> {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final DaryHeap<E> heap;
+        /**
+         * 堆顶的缓存，只在持有锁时修改，读取时不需要加锁
+         */
+        private volatile E top;
+        private volatile int size;
+
+        SubHeap(Comparator<? super E> comparator) {
+            heap = new DaryHeap<>(ARITY, comparator);
+        }
+
+        void update() {
+            top = heap.peek();
+            size = heap.getSize();
+        }
+    }
+
+    private final Comparator<? super E> comparator;
+    private final SubHeap<E>[] heaps;
+
+    public MultiQueue() {
+        this(C * Runtime.getRuntime().availableProcessors(), null);
+    }
+
+    /**
+     * @param queues     子堆的个数，一般取线程数的2倍
+     * @param comparator 为null时使用元素的自然顺序，堆顶是comparator意义下最大的元素
+     */
+    public MultiQueue(int queues, Comparator<? super E> comparator) {
+        if (queues < 2) {
+            throw new IllegalArgumentException("queues must be at least 2");
+        }
+        @SuppressWarnings("unchecked")
+        Comparator<? super E> natural = (Comparator<? super E>) Comparator.naturalOrder();
+        this.comparator = comparator != null ? comparator : natural;
+        @SuppressWarnings("unchecked")
+        SubHeap<E>[] heaps = (SubHeap<E>[]) new SubHeap<?>[queues];
+        for (int i = 0; i < queues; i++) {
+            heaps[i] = new SubHeap<>(this.comparator);
+        }
+        this.heaps = heaps;
+    }
+
+    public void add(E e) {
+        if (e == null) {
+            throw new NullPointerException();
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (true) {
+            SubHeap<E> h = heaps[random.nextInt(heaps.length)];
+            if (h.lock.tryLock()) {
+                try {
+                    h.heap.add(e);
+                    h.update();
+                } finally {
+                    h.lock.unlock();
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * 取出一个近似最大的元素
+     *
+     * @return 所有子堆都为空时返回null
+     */
+    public E poll() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int n = heaps.length;
+        while (true) {
+            int i = random.nextInt(n);
+            int j = random.nextInt(n - 1);
+            if (j >= i) {
+                j++;
+            }
+            SubHeap<E> a = heaps[i];
+            SubHeap<E> b = heaps[j];
+            E ta = a.top;
+            E tb = b.top;
+            if (ta == null && tb == null) {
+                //两个都为空时不能断定整个队列为空，逐个检查所有子堆
+                if (isEmpty()) {
+                    return null;
+                }
+                continue;
+            }
+            SubHeap<E> h = tb == null || (ta != null && comparator.compare(ta, tb) >= 0) ? a : b;
+            if (h.lock.tryLock()) {
+                try {
+                    if (h.heap.isEmpty()) {
+                        continue;
+                    }
+                    E ret = h.heap.extract();
+                    h.update();
+                    return ret;
+                } finally {
+                    h.lock.unlock();
+                }
+            }
+        }
+    }
+
+    /**
+     * 并发环境下只是一个近似值
+     */
+    public int getSize() {
+        long size = 0;
+        for (SubHeap<E> h : heaps) {
+            size += h.size;
+        }
+        return (int) Math.min(Integer.MAX_VALUE, size);
+    }
+
+    public boolean isEmpty() {
+        for (SubHeap<E> h : heaps) {
+            if (h.size != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public int getQueues() {
+        return heaps.length;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("MultiQueue: queues = %d , size = %d", getQueues(), getSize());
+    }
+}
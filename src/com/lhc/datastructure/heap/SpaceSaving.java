@@ -0,0 +1,274 @@
+package com.lhc.datastructure.heap;
+
+import com.lhc.datastructure.linearstructure.Array;
+
+import java.util.Comparator;
+import java.util.HashMap;
+
+/**
+ * 流式统计出现次数最多的元素，Space-Saving算法
+ * 只保存K个计数器，空间复杂度O(K)，与流中不同元素的个数无关：
+ * 已经被统计的元素直接增加计数；
+ * 计数器没用完时为新元素分配一个计数器；
+ * 否则把计数最小的计数器让给新元素，计数为原来的最小值 + 1，误差记为原来的最小值
+ * 计数器按计数组织成一个最小堆，计数最小的在堆顶，每次更新都是O(logK)
+ * 堆和IndexHeap一样只保存计数器的下标，并用pos记录每个下标在堆中的位置，
+ * 比较时直接读取long[] counts，不需要把计数装箱成Long
+ * <p>
+ * 对于每个被统计的元素，count - error <= 真实次数 <= count；
+ * 真实次数超过total / K的元素一定会被统计到
+ * 多个线程各自统计一部分数据后可以用merge合并，合并后上述误差界仍然成立
+ *
+ * @param <E>
+ */
+public class SpaceSaving<E> {
+
+    /**
+     * 一个计数器
+     *
+     * @param <E>
+     */
+    public static final class Counter<E> {
+        private final E item;
+        private final long count;
+        private final long error;
+
+        Counter(E item, long count, long error) {
+            this.item = item;
+            this.count = count;
+            this.error = error;
+        }
+
+        public E getItem() {
+            return item;
+        }
+
+        /**
+         * @return 出现次数的上界
+         */
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * @return count与真实次数的最大误差
+         */
+        public long getError() {
+            return error;
+        }
+
+        @Override
+        public String toString() {
+            return item + "=" + count + (error == 0 ? "" : "(-" + error + ")");
+        }
+    }
+
+    private static final Comparator<Counter<?>> BY_COUNT = Comparator.comparingLong(c -> c.count);
+
+    private final int k;
+    private final E[] items;
+    private final long[] counts;
+    private final long[] errors;
+    /**
+     * 按counts组织的最小堆，heap[i]是堆中第i个位置上计数器的下标，pos是heap的逆映射
+     * 计数器一旦分配就一直在堆中，所以堆的大小就是size
+     */
+    private final int[] heap;
+    private final int[] pos;
+    private final HashMap<E, Integer> index;
+    private int size;
+    private long total;
+
+    public SpaceSaving(int k) {
+        if (k <= 0) {
+            throw new IllegalArgumentException("k must be positive");
+        }
+        this.k = k;
+        this.items = (E[]) new Object[k];
+        this.counts = new long[k];
+        this.errors = new long[k];
+        this.heap = new int[k];
+        this.pos = new int[k];
+        this.index = new HashMap<>(k * 2);
+        this.size = 0;
+        this.total = 0;
+    }
+
+    public void add(E item) {
+        add(item, 1);
+    }
+
+    /**
+     * 时间复杂度O(logK)
+     */
+    public void add(E item, long count) {
+        if (count <= 0) {
+            throw new IllegalArgumentException("count must be positive");
+        }
+        total += count;
+        Integer handle = index.get(item);
+        if (handle != null) {
+            counts[handle] += count;
+            shiftDown(pos[handle], handle);
+        } else if (size < k) {
+            int h = size++;
+            set(h, item, count, 0);
+            shiftUp(h, h);
+        } else {
+            //把计数最小的计数器让给新元素
+            int h = heap[0];
+            long min = counts[h];
+            index.remove(items[h]);
+            set(h, item, min + count, min);
+            shiftDown(0, h);
+        }
+    }
+
+    /**
+     * 把计数器h放进空穴index，沿着父亲路径上浮
+     */
+    private void shiftUp(int index, int h) {
+        long key = counts[h];
+        while (index > 0) {
+            int parent = (index - 1) / 2;
+            int p = heap[parent];
+            if (key >= counts[p]) {
+                break;
+            }
+            heap[index] = p;
+            pos[p] = index;
+            index = parent;
+        }
+        heap[index] = h;
+        pos[h] = index;
+    }
+
+    /**
+     * 把计数器h放进空穴index，每次和较小的孩子比较并下沉，计数只会增加，所以更新后只需要下沉
+     */
+    private void shiftDown(int index, int h) {
+        long key = counts[h];
+        while (2 * index + 1 < size) {
+            int j = 2 * index + 1;
+            if (j + 1 < size && counts[heap[j + 1]] < counts[heap[j]]) {
+                j++;
+            }
+            int c = heap[j];
+            if (key <= counts[c]) {
+                break;
+            }
+            heap[index] = c;
+            pos[c] = index;
+            index = j;
+        }
+        heap[index] = h;
+        pos[h] = index;
+    }
+
+    private void set(int handle, E item, long count, long error) {
+        items[handle] = item;
+        counts[handle] = count;
+        errors[handle] = error;
+        index.put(item, handle);
+    }
+
+    /**
+     * @return item出现次数的上界，没有被统计的元素返回最小的计数
+     */
+    public long estimate(E item) {
+        Integer handle = index.get(item);
+        return handle != null ? counts[handle] : minCount();
+    }
+
+    /**
+     * 计数器用完之前没有被统计的元素一定没有出现过，返回0
+     */
+    public long minCount() {
+        return size < k ? 0 : counts[heap[0]];
+    }
+
+    /**
+     * 把另一部分数据的统计结果合并进来，other不变
+     * 只在一方出现的元素，在另一方的次数按另一方的最小计数估计，然后只保留计数最大的K个
+     * 与自己合并相当于把每个计数器的计数和误差都翻倍
+     */
+    public void merge(SpaceSaving<? extends E> other) {
+        if (other == this) {
+            //下面的clear会把other也清空，这里直接翻倍，计数之间的大小关系不变，堆不需要调整
+            for (int h = 0; h < size; h++) {
+                counts[h] *= 2;
+                errors[h] *= 2;
+            }
+            total *= 2;
+            return;
+        }
+        long thisMin = minCount();
+        long otherMin = other.minCount();
+        TopK<Counter<E>> merged = new TopK<>(k, BY_COUNT);
+        for (int h = 0; h < size; h++) {
+            Integer o = other.index.get(items[h]);
+            if (o != null) {
+                merged.offer(new Counter<>(items[h], counts[h] + other.counts[o], errors[h] + other.errors[o]));
+            } else {
+                merged.offer(new Counter<>(items[h], counts[h] + otherMin, errors[h] + otherMin));
+            }
+        }
+        for (int o = 0; o < other.size; o++) {
+            if (!index.containsKey(other.items[o])) {
+                merged.offer(new Counter<>(other.items[o], other.counts[o] + thisMin, other.errors[o] + thisMin));
+            }
+        }
+
+        long mergedTotal = total + other.total;
+        clear();
+        Array<Counter<E>> counters = merged.toSortedArray();
+        //counters按计数从大到小排列，倒序放入时新的计数不小于堆中已有的计数，shiftUp不会移动任何元素
+        for (int i = counters.getSize() - 1; i >= 0; i--) {
+            Counter<E> c = counters.get(i);
+            int h = size++;
+            set(h, c.item, c.count, c.error);
+            shiftUp(h, h);
+        }
+        total = mergedTotal;
+    }
+
+    /**
+     * @return 计数最大的n个计数器，从大到小排列
+     */
+    public Array<Counter<E>> top(int n) {
+        TopK<Counter<E>> topK = new TopK<>(Math.max(1, Math.min(n, k)), BY_COUNT);
+        for (int h = 0; h < size; h++) {
+            topK.offer(new Counter<>(items[h], counts[h], errors[h]));
+        }
+        return topK.toSortedArray();
+    }
+
+    public void clear() {
+        for (int h = 0; h < size; h++) {
+            items[h] = null;
+        }
+        index.clear();
+        size = 0;
+        total = 0;
+    }
+
+    public int getK() {
+        return k;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * @return 流中元素的总个数
+     */
+    public long getTotal() {
+        return total;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("SpaceSaving: k = %d , size = %d , total = %d\n", k, size, total) + top(k);
+    }
+}
@@ -0,0 +1,110 @@
+package com.lhc.datastructure.heap;
+
+import com.lhc.datastructure.linearstructure.Array;
+
+import java.util.Comparator;
+
+/**
+ * 流式的前K大元素收集器
+ * 内部是一个只保存K个候选元素的堆，堆顶是候选元素中最小的(即第K大的)：
+ * 堆没满时直接放入；堆满后只有比堆顶大的元素才用replace替换堆顶，时间复杂度O(logK)
+ * 整个过程只占用O(K)的空间，与流中元素的个数无关
+ * 多个线程各自收集一部分数据后，可以用merge把部分结果合并起来，
+ * 只要各部分的数据互不重叠(例如按单词的hash分区统计词频)，合并结果就是全局的前K大
+ *
+ * @param <E>
+ */
+public class TopK<E> {
+
+    private static final int ARITY = 4;
+    private final int k;
+    private final Comparator<? super E> comparator;
+    private final DaryHeap<E> heap;
+
+    /**
+     * @param k
+     * @param comparator 为null时使用元素的自然顺序
+     */
+    public TopK(int k, Comparator<? super E> comparator) {
+        if (k <= 0) {
+            throw new IllegalArgumentException("k must be positive");
+        }
+        this.k = k;
+        this.comparator = comparator != null ? comparator : (Comparator<? super E>) Comparator.naturalOrder();
+        //候选元素中最小的在堆顶
+        this.heap = new DaryHeap<>(ARITY, this.comparator.reversed(), Math.min(k, 1 << 16));
+    }
+
+    /**
+     * @return e是否成为了候选元素
+     */
+    public boolean offer(E e) {
+        if (heap.getSize() < k) {
+            heap.add(e);
+            return true;
+        }
+        if (comparator.compare(e, heap.peek()) <= 0) {
+            return false;
+        }
+        heap.replace(e);
+        return true;
+    }
+
+    /**
+     * 把另一个收集器的候选元素合并进来，other不变
+     */
+    public void merge(TopK<? extends E> other) {
+        for (Object e : other.heap.toArray()) {
+            offer((E) e);
+        }
+    }
+
+    /**
+     * 当前第K大的元素，新元素必须比它大才能进入候选，候选不足K个时返回null
+     */
+    public E threshold() {
+        return heap.getSize() < k ? null : heap.peek();
+    }
+
+    public int getK() {
+        return k;
+    }
+
+    public int getSize() {
+        return heap.getSize();
+    }
+
+    public boolean isEmpty() {
+        return heap.isEmpty();
+    }
+
+    /**
+     * 复制候选元素重新heapify成以最大元素为堆顶的堆，再依次取出，时间复杂度O(KlogK)
+     *
+     * @return 从大到小排列的候选元素，收集器不变
+     */
+    public Array<E> toSortedArray() {
+        DaryHeap<E> copy = new DaryHeap<>(ARITY, comparator, (E[]) heap.toArray());
+        Array<E> ret = new Array<>(Math.max(1, copy.getSize()));
+        while (!copy.isEmpty()) {
+            ret.addLast(copy.extract());
+        }
+        return ret;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("TopK: k = %d , size = %d\n", k, getSize()));
+        Array<E> elements = toSortedArray();
+        sb.append('[');
+        for (int i = 0; i < elements.getSize(); i++) {
+            sb.append(elements.get(i));
+            if (i != elements.getSize() - 1) {
+                sb.append(", ");
+            }
+        }
+        sb.append(']');
+        return sb.toString();
+    }
+}
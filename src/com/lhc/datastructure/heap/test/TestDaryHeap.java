@@ -0,0 +1,98 @@
+package com.lhc.datastructure.heap.test;
+
+import com.lhc.datastructure.heap.DaryHeap;
+
+import java.util.Comparator;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+/**
+ * 测试不同叉数的DaryHeap在1000万个元素上的性能，并与PriorityQueue对比
+ * 分别测试逐个add、heapify和全部extract，extract的同时检查取出的顺序和个数，
+ * 逐个add和heapify得到的堆都要检查
+ */
+public class TestDaryHeap {
+
+    private static final int N = 10000000;
+    private static final int[] ARITIES = {2, 4, 8};
+
+    public static void main(String[] args) {
+        Random random = new Random(0);
+        Integer[] data = new Integer[N];
+        for (int i = 0; i < N; i++) {
+            data[i] = random.nextInt(Integer.MAX_VALUE);
+        }
+
+        for (int arity : ARITIES) {
+            testDaryHeap(arity, data);
+        }
+        testPriorityQueue(data);
+    }
+
+    private static void testDaryHeap(int arity, Integer[] data) {
+        long startTime = System.nanoTime();
+        DaryHeap<Integer> heap = new DaryHeap<>(arity, Comparator.reverseOrder());
+        for (Integer e : data) {
+            heap.add(e);
+        }
+        long endTime = System.nanoTime();
+        System.out.println(arity + "-ary heap add: " + (endTime - startTime) / 1000000000.0 + " s");
+
+        startTime = System.nanoTime();
+        boolean sorted = extractAll(heap, data.length);
+        endTime = System.nanoTime();
+        System.out.println(arity + "-ary heap extract: " + (endTime - startTime) / 1000000000.0 + " s, sorted = " + sorted);
+
+        startTime = System.nanoTime();
+        heap = new DaryHeap<>(arity, Comparator.reverseOrder(), data);
+        endTime = System.nanoTime();
+        System.out.println(arity + "-ary heap heapify: " + (endTime - startTime) / 1000000000.0 + " s");
+
+        startTime = System.nanoTime();
+        sorted = extractAll(heap, data.length);
+        endTime = System.nanoTime();
+        System.out.println(arity + "-ary heap extract after heapify: " + (endTime - startTime) / 1000000000.0
+                + " s, sorted = " + sorted);
+    }
+
+    /**
+     * @return 取出的元素是否有序，并且恰好有n个
+     */
+    private static boolean extractAll(DaryHeap<Integer> heap, int n) {
+        int last = Integer.MIN_VALUE;
+        boolean sorted = true;
+        int count = 0;
+        while (!heap.isEmpty()) {
+            int e = heap.extract();
+            if (e < last) {
+                sorted = false;
+            }
+            last = e;
+            count++;
+        }
+        return sorted && count == n;
+    }
+
+    private static void testPriorityQueue(Integer[] data) {
+        long startTime = System.nanoTime();
+        PriorityQueue<Integer> queue = new PriorityQueue<>();
+        for (Integer e : data) {
+            queue.add(e);
+        }
+        long endTime = System.nanoTime();
+        System.out.println("PriorityQueue add: " + (endTime - startTime) / 1000000000.0 + " s");
+
+        startTime = System.nanoTime();
+        int last = Integer.MIN_VALUE;
+        boolean sorted = true;
+        while (!queue.isEmpty()) {
+            int e = queue.poll();
+            if (e < last) {
+                sorted = false;
+            }
+            last = e;
+        }
+        endTime = System.nanoTime();
+        System.out.println("PriorityQueue extract: " + (endTime - startTime) / 1000000000.0 + " s, sorted = " + sorted);
+    }
+}
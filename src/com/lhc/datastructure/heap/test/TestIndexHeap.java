@@ -0,0 +1,108 @@
+package com.lhc.datastructure.heap.test;
+
+import com.lhc.datastructure.heap.IndexHeap;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+/**
+ * 在随机图上运行Dijkstra最短路径算法，对比两种实现：
+ * 1、IndexHeap，距离变小时直接changeKey，堆中每个顶点最多一个元素
+ * 2、PriorityQueue，距离变小时插入新元素，出堆时跳过过期的元素
+ * 比较运行时间和堆的最大元素个数，并检查两者的结果一致
+ */
+public class TestIndexHeap {
+
+    private static final int V = 1000000;
+    private static final int E = 8000000;
+    private static final int MAX_WEIGHT = 1000;
+
+    public static void main(String[] args) {
+        //用CSR格式存储图：顶点v的边为to[start[v] ... start[v + 1] - 1]
+        Random random = new Random(0);
+        int[] from = new int[E];
+        int[] start = new int[V + 1];
+        for (int i = 0; i < E; i++) {
+            from[i] = random.nextInt(V);
+            start[from[i] + 1]++;
+        }
+        for (int v = 0; v < V; v++) {
+            start[v + 1] += start[v];
+        }
+        int[] to = new int[E];
+        int[] weight = new int[E];
+        int[] next = Arrays.copyOf(start, V);
+        for (int i = 0; i < E; i++) {
+            int k = next[from[i]]++;
+            to[k] = random.nextInt(V);
+            weight[k] = 1 + random.nextInt(MAX_WEIGHT);
+        }
+
+        long startTime = System.nanoTime();
+        long[] dist1 = new long[V];
+        int maxSize1 = dijkstraIndexHeap(start, to, weight, dist1);
+        long endTime = System.nanoTime();
+        System.out.println("IndexHeap: " + (endTime - startTime) / 1000000000.0 + " s, max heap size = " + maxSize1);
+
+        startTime = System.nanoTime();
+        long[] dist2 = new long[V];
+        int maxSize2 = dijkstraPriorityQueue(start, to, weight, dist2);
+        endTime = System.nanoTime();
+        System.out.println("PriorityQueue: " + (endTime - startTime) / 1000000000.0 + " s, max heap size = " + maxSize2);
+
+        System.out.println("same result: " + Arrays.equals(dist1, dist2));
+    }
+
+    private static int dijkstraIndexHeap(int[] start, int[] to, int[] weight, long[] dist) {
+        Arrays.fill(dist, Long.MAX_VALUE);
+        IndexHeap<Long> heap = new IndexHeap<>(V, Comparator.reverseOrder());
+        dist[0] = 0;
+        heap.add(0, 0L);
+        int maxSize = 1;
+        while (!heap.isEmpty()) {
+            int v = heap.extract();
+            for (int k = start[v]; k < start[v + 1]; k++) {
+                int w = to[k];
+                long d = dist[v] + weight[k];
+                if (d < dist[w]) {
+                    dist[w] = d;
+                    if (heap.contains(w)) {
+                        heap.changeKey(w, d);
+                    } else {
+                        heap.add(w, d);
+                    }
+                }
+            }
+            maxSize = Math.max(maxSize, heap.getSize());
+        }
+        return maxSize;
+    }
+
+    private static int dijkstraPriorityQueue(int[] start, int[] to, int[] weight, long[] dist) {
+        Arrays.fill(dist, Long.MAX_VALUE);
+        PriorityQueue<long[]> queue = new PriorityQueue<>(Comparator.comparingLong(entry -> entry[0]));
+        boolean[] visited = new boolean[V];
+        dist[0] = 0;
+        queue.add(new long[]{0, 0});
+        int maxSize = 1;
+        while (!queue.isEmpty()) {
+            int v = (int) queue.poll()[1];
+            if (visited[v]) {
+                continue;
+            }
+            visited[v] = true;
+            for (int k = start[v]; k < start[v + 1]; k++) {
+                int w = to[k];
+                long d = dist[v] + weight[k];
+                if (d < dist[w]) {
+                    dist[w] = d;
+                    queue.add(new long[]{d, w});
+                }
+            }
+            maxSize = Math.max(maxSize, queue.size());
+        }
+        return maxSize;
+    }
+}
@@ -0,0 +1,129 @@
+package com.lhc.datastructure.heap.test;
+
+import com.lhc.datastructure.heap.MaxHeap;
+import com.lhc.datastructure.heap.MultiQueue;
+
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * MultiQueue的秩误差测量和性能测试
+ * 秩误差：放入N个不同的整数后逐个取出，用树状数组统计比取出元素更大、仍在队列中的元素个数
+ * 性能测试：预先放入PREFILL个元素，1-64个线程每个线程交替入队出队，与加锁的MaxHeap对比
+ */
+public class TestMultiQueue {
+
+    private static final int RANK_N = 1000000;
+    private static final int PREFILL = 1000000;
+    private static final int BENCH_OPS = 4000000;
+
+    public static void main(String[] args) throws InterruptedException {
+        for (int queues = 2; queues <= 64; queues *= 2) {
+            measureRankError(queues);
+        }
+
+        for (int threads = 1; threads <= 64; threads *= 2) {
+            MultiQueue<Integer> multiQueue = new MultiQueue<>(2 * threads, null);
+            prefill(multiQueue::add);
+            double multiQueueTime = bench(threads, multiQueue::add, multiQueue::poll);
+
+            MaxHeap<Integer> maxHeap = new MaxHeap<>();
+            prefill(maxHeap::add);
+            double lockedTime = bench(threads, e -> {
+                synchronized (maxHeap) {
+                    maxHeap.add(e);
+                }
+            }, () -> {
+                synchronized (maxHeap) {
+                    return maxHeap.isEmpty() ? null : maxHeap.extractMax();
+                }
+            });
+            System.out.println(threads + " threads: MultiQueue " + multiQueueTime + " s, synchronized MaxHeap "
+                    + lockedTime + " s");
+        }
+    }
+
+    private static void measureRankError(int queues) {
+        MultiQueue<Integer> queue = new MultiQueue<>(queues, null);
+        //树状数组，tree记录每个值是否还在队列中
+        int[] tree = new int[RANK_N + 1];
+        Integer[] values = new Integer[RANK_N];
+        for (int i = 0; i < RANK_N; i++) {
+            values[i] = i;
+        }
+        Random random = new Random(queues);
+        for (int i = RANK_N - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            Integer t = values[i];
+            values[i] = values[j];
+            values[j] = t;
+        }
+        for (Integer v : values) {
+            queue.add(v);
+            for (int i = v + 1; i <= RANK_N; i += i & -i) {
+                tree[i]++;
+            }
+        }
+
+        long sum = 0;
+        long max = 0;
+        int remaining = RANK_N;
+        Integer v;
+        while ((v = queue.poll()) != null) {
+            int notGreater = 0;
+            for (int i = v + 1; i > 0; i -= i & -i) {
+                notGreater += tree[i];
+            }
+            long rank = remaining - notGreater;
+            sum += rank;
+            max = Math.max(max, rank);
+            for (int i = v + 1; i <= RANK_N; i += i & -i) {
+                tree[i]--;
+            }
+            remaining--;
+        }
+        System.out.println(queues + " queues: mean rank error = " + (double) sum / RANK_N + ", max rank error = " + max);
+    }
+
+    private static void prefill(Consumer<Integer> add) {
+        Random random = new Random(0);
+        for (int i = 0; i < PREFILL; i++) {
+            add.accept(random.nextInt());
+        }
+    }
+
+    private static double bench(int threads, Consumer<Integer> add, Supplier<Integer> poll) throws InterruptedException {
+        final int perThread = BENCH_OPS / threads;
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] workers = new Thread[threads];
+        for (int i = 0; i < threads; i++) {
+            workers[i] = new Thread(() -> {
+                await(start);
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int j = 0; j < perThread; j++) {
+                    add.accept(random.nextInt());
+                    poll.get();
+                }
+            });
+            workers[i].start();
+        }
+        long startTime = System.nanoTime();
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        long endTime = System.nanoTime();
+        return (endTime - startTime) / 1000000000.0;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.lhc.datastructure.heap.test;
+
+import com.lhc.datastructure.heap.DaryHeap;
+import com.lhc.datastructure.heap.LongHeap;
+
+import java.util.Comparator;
+import java.util.Random;
+
+/**
+ * 测试DaryHeap<Long>和LongHeap的性能
+ * 模拟事件时间队列：最小堆，先放入N个时间戳，再反复取出最早的事件并放入一个更晚的事件
+ */
+public class TestPrimitiveHeap {
+
+    private static final int N = 10000000;
+    private static final int OPS = 20000000;
+
+    public static void main(String[] args) {
+        Random random = new Random(0);
+        long[] times = new long[N];
+        for (int i = 0; i < N; i++) {
+            times[i] = random.nextInt(Integer.MAX_VALUE);
+        }
+        long[] delays = new long[OPS];
+        for (int i = 0; i < OPS; i++) {
+            delays[i] = 1 + random.nextInt(1000000);
+        }
+
+        //Test DaryHeap<Long>
+        long startTime = System.nanoTime();
+        DaryHeap<Long> heap = new DaryHeap<>(2, Comparator.reverseOrder());
+        for (int i = 0; i < N; i++) {
+            heap.add(times[i]);
+        }
+        long sum = 0;
+        for (int i = 0; i < OPS; i++) {
+            long time = heap.peek();
+            heap.replace(time + delays[i]);
+            sum += time;
+        }
+        long endTime = System.nanoTime();
+        System.out.println("DaryHeap<Long>: " + (endTime - startTime) / 1000000000.0 + " s, checksum = " + sum);
+        heap = null;
+
+        //Test LongHeap，负载记录事件编号
+        startTime = System.nanoTime();
+        LongHeap longHeap = new LongHeap(N, false, true);
+        for (int i = 0; i < N; i++) {
+            longHeap.add(times[i], i);
+        }
+        sum = 0;
+        for (int i = 0; i < OPS; i++) {
+            long time = longHeap.peek();
+            longHeap.replace(time + delays[i], longHeap.peekPayload());
+            sum += time;
+        }
+        endTime = System.nanoTime();
+        System.out.println("LongHeap: " + (endTime - startTime) / 1000000000.0 + " s, checksum = " + sum);
+    }
+}
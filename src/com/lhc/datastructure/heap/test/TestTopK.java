@@ -0,0 +1,118 @@
+package com.lhc.datastructure.heap.test;
+
+import com.lhc.datastructure.heap.SpaceSaving;
+import com.lhc.datastructure.heap.TopK;
+import com.lhc.datastructure.linearstructure.Array;
+import com.lhc.datastructure.tree.AVLTree;
+import com.lhc.datastructure.utils.FileOperation;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 统计Pride and Prejudice中出现次数最多的10个单词
+ * 1、精确统计：AVLTree统计所有单词的次数，再用TopK选出前10个，空间O(不同单词数)
+ * 2、流式统计：FileOperation.readWords边读边交给SpaceSaving，空间O(K)
+ * 3、并行统计：把单词分成几部分分别统计，再merge
+ * 并行部分按单词的hash分区时，每个分区精确统计后TopK.merge的结果仍然是精确的
+ */
+public class TestTopK {
+
+    private static final String FILENAME = "pride-and-prejudice.txt";
+    private static final int TOP = 10;
+    private static final int K = 200;
+    private static final int WORKERS = 4;
+
+    public static void main(String[] args) throws InterruptedException {
+        ArrayList<String> words = new ArrayList<>();
+        if (!FileOperation.readFile(FILENAME, words)) {
+            return;
+        }
+        System.out.println("Total words: " + words.size());
+
+        //精确统计
+        long startTime = System.nanoTime();
+        AVLTree<String, Integer> avl = new AVLTree<>();
+        for (String word : words) {
+            if (avl.contains(word)) {
+                avl.set(word, avl.get(word) + 1);
+            } else {
+                avl.add(word, 1);
+            }
+        }
+        //直接中序遍历AVLTree中的每个单词，不再额外建立一个O(不同单词数)的结构
+        TopK<Map.Entry<String, Integer>> exact = new TopK<>(TOP, Map.Entry.comparingByValue());
+        avl.forEach((word, count) -> exact.offer(Map.entry(word, count)));
+        long endTime = System.nanoTime();
+        System.out.println("AVLTree + TopK: " + (endTime - startTime) / 1000000000.0 + " s");
+        System.out.println(exact.toSortedArray());
+
+        //流式统计
+        startTime = System.nanoTime();
+        SpaceSaving<String> streaming = new SpaceSaving<>(K);
+        FileOperation.readWords(FILENAME, streaming::add);
+        endTime = System.nanoTime();
+        System.out.println("readWords + SpaceSaving(k = " + K + "): " + (endTime - startTime) / 1000000000.0 + " s");
+        System.out.println(streaming.top(TOP));
+
+        //并行统计，每个线程负责连续的一段单词
+        startTime = System.nanoTime();
+        ArrayList<SpaceSaving<String>> partial = new ArrayList<>();
+        Thread[] workers = new Thread[WORKERS];
+        for (int w = 0; w < WORKERS; w++) {
+            final int id = w;
+            SpaceSaving<String> counter = new SpaceSaving<>(K);
+            partial.add(counter);
+            workers[w] = new Thread(() -> {
+                int from = (int) ((long) words.size() * id / WORKERS);
+                int to = (int) ((long) words.size() * (id + 1) / WORKERS);
+                for (int i = from; i < to; i++) {
+                    counter.add(words.get(i));
+                }
+            });
+            workers[w].start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        for (int w = 1; w < WORKERS; w++) {
+            partial.get(0).merge(partial.get(w));
+        }
+        endTime = System.nanoTime();
+        System.out.println(WORKERS + " workers SpaceSaving merge: " + (endTime - startTime) / 1000000000.0 + " s");
+        System.out.println(partial.get(0).top(TOP));
+
+        //并行精确统计，每个线程负责hash落在自己分区里的单词
+        startTime = System.nanoTime();
+        ArrayList<TopK<Map.Entry<String, Integer>>> partialTop = new ArrayList<>();
+        for (int w = 0; w < WORKERS; w++) {
+            final int id = w;
+            TopK<Map.Entry<String, Integer>> top = new TopK<>(TOP, Map.Entry.comparingByValue());
+            partialTop.add(top);
+            workers[w] = new Thread(() -> {
+                HashMap<String, Integer> counts = new HashMap<>();
+                for (String word : words) {
+                    if (Math.floorMod(word.hashCode(), WORKERS) == id) {
+                        counts.merge(word, 1, Integer::sum);
+                    }
+                }
+                for (Map.Entry<String, Integer> entry : counts.entrySet()) {
+                    top.offer(entry);
+                }
+            });
+            workers[w].start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        TopK<Map.Entry<String, Integer>> merged = new TopK<>(TOP, Map.Entry.comparingByValue());
+        for (TopK<Map.Entry<String, Integer>> top : partialTop) {
+            merged.merge(top);
+        }
+        endTime = System.nanoTime();
+        System.out.println(WORKERS + " workers hash partition TopK merge: " + (endTime - startTime) / 1000000000.0 + " s");
+        Array<Map.Entry<String, Integer>> result = merged.toSortedArray();
+        System.out.println(result);
+    }
+}
@@ -1,5 +1,21 @@
 package com.lhc.datastructure.linearstructure;
 
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
 /**
  * 线性数据结构-动态数组
  * 支持随机访问
@@ -7,11 +23,23 @@ package com.lhc.datastructure.linearstructure;
  *
  * @param <E>
  */
-public class Array<E> {
+public class Array<E> implements Iterable<E> {
 
     private static final int MIN_SIZE = 10;
+    /**
+     * 元素个数不超过该值时使用插入排序
+     */
+    private static final int INSERTION_SORT_THRESHOLD = 16;
+    /**
+     * 并行排序、并行查找时每个子任务处理的最少元素个数，小于该值时不再拆分
+     */
+    private static final int PARALLEL_THRESHOLD = 1 << 13;
     private E[] data;
     private int size;
+    /**
+     * 结构性修改(增删元素)的次数，用于迭代器的fail-fast检查
+     */
+    private int modCount;
 
     public Array(int capacity) {
         data = (E[]) new Object[capacity];
@@ -20,9 +48,7 @@ public class Array<E> {
 
     public Array(E[] arr) {
         data = (E[]) new Object[arr.length];
-        for (int i = 0; i < arr.length; i++) {
-            data[i] = arr[i];
-        }
+        System.arraycopy(arr, 0, data, 0, arr.length);
         size = arr.length;
     }
 
@@ -62,15 +88,53 @@ public class Array<E> {
             throw new IllegalArgumentException("index is out of bounds");
         }
 
-        if (size == data.length) {
-            resize(2 * data.length);
+        ensureCapacity(size + 1);
+        System.arraycopy(data, index, data, index + 1, size - index);
+        data[index] = e;
+        size++;
+        modCount++;
+    }
+
+    public void addAll(Array<E> source) {
+        addAll(size, source);
+    }
+
+    /**
+     * 在index位置批量插入source中的所有元素
+     * 最多扩容一次，并且只整体移动一次index之后的元素
+     *
+     * @param index
+     * @param source
+     */
+    public void addAll(int index, Array<E> source) {
+        addAll(index, source.data, source.size);
+    }
+
+    public void addAll(int index, E[] source) {
+        addAll(index, source, source.length);
+    }
+
+    private void addAll(int index, E[] source, int count) {
+        if (index < 0 || index > size) {
+            throw new IllegalArgumentException("index is out of bounds");
+        }
+        if (count == 0) {
+            return;
         }
 
-        for (int i = size; i > index; i--) {
-            data[i] = data[i - 1];
+        ensureCapacity(size + count);
+        System.arraycopy(data, index, data, index + count, size - index);
+        //source可能就是data本身，此时index之后的元素已经被后移了count位
+        if (source == data) {
+            System.arraycopy(data, 0, data, index, Math.min(index, count));
+            if (count > index) {
+                System.arraycopy(data, index + count, data, 2 * index, count - index);
+            }
+        } else {
+            System.arraycopy(source, 0, data, index, count);
         }
-        data[index] = e;
-        size++;
+        size += count;
+        modCount++;
     }
 
     public E get(int index) {
@@ -89,7 +153,7 @@ public class Array<E> {
 
     public boolean contains(E e) {
         for (int i = 0; i < size; i++) {
-            if (data[i].equals(e)) {
+            if (Objects.equals(data[i], e)) {
                 return true;
             }
         }
@@ -98,7 +162,7 @@ public class Array<E> {
 
     public int find(E e) {
         for (int i = 0; i < size; i++) {
-            if (data[i].equals(e)) {
+            if (Objects.equals(data[i], e)) {
                 return i;
             }
         }
@@ -110,10 +174,9 @@ public class Array<E> {
             throw new IllegalArgumentException("index out of bounds");
         }
         E ret = data[index];
-        for (int i = index; i < size - 1; i++) {
-            data[i] = data[i + 1];
-        }
+        System.arraycopy(data, index + 1, data, index, size - index - 1);
         size--;
+        modCount++;
         data[size] = null;//避免闲散对象(loitering objects)
         //当容量只占总容量1/4时才将容量减半，避免复杂度震荡
         if (size <= data.length / 4 && data.length / 2 >= MIN_SIZE) {
@@ -147,22 +210,132 @@ public class Array<E> {
         return false;
     }
 
+    /**
+     * 删除所有等于e的元素
+     * 时间复杂度O(n)
+     *
+     * @param e
+     */
     public void removeAllElement(E e) {
-        while (true) {
-            int i = find(e);
-            if (i != -1) {
-                remove(i);
-            } else {
-                break;
+        removeIf(x -> Objects.equals(x, e));
+    }
+
+    /**
+     * 只保留c中包含的元素
+     * 时间复杂度O(n)乘以c.contains的复杂度
+     *
+     * @param c
+     * @return 是否有元素被删除
+     */
+    public boolean retainAll(Collection<?> c) {
+        Objects.requireNonNull(c);
+        return removeIf(x -> !c.contains(x));
+    }
+
+    /**
+     * 删除所有满足filter的元素
+     * 先对所有元素求值并把要删除的位置记在BitSet中，再一次遍历将保留的元素前移压缩，
+     * 时间复杂度O(n)，最后最多缩容一次
+     * 这样filter抛出异常时数组还没有被修改
+     *
+     * @param filter
+     * @return 是否有元素被删除
+     */
+    public boolean removeIf(Predicate<? super E> filter) {
+        Objects.requireNonNull(filter);
+        //第一个要删除的元素之前的部分不需要移动，也不需要记录
+        int first = 0;
+        while (first < size && !filter.test(data[first])) {
+            first++;
+        }
+        if (first == size) {
+            return false;
+        }
+        BitSet removed = new BitSet(size - first);
+        removed.set(0);
+        for (int i = first + 1; i < size; i++) {
+            if (filter.test(data[i])) {
+                removed.set(i - first);
+            }
+        }
+
+        int newSize = first;
+        for (int i = first; i < size; i++) {
+            if (!removed.get(i - first)) {
+                data[newSize++] = data[i];
             }
         }
+        for (int i = newSize; i < size; i++) {
+            data[i] = null;//避免闲散对象(loitering objects)
+        }
+        size = newSize;
+        modCount++;
+        shrink();
+        return true;
+    }
+
+    /**
+     * 删除[fromIndex, toIndex)区间内的元素
+     * 只整体移动一次toIndex之后的元素，最多缩容一次
+     *
+     * @param fromIndex
+     * @param toIndex
+     */
+    public void removeRange(int fromIndex, int toIndex) {
+        if (fromIndex < 0 || toIndex > size || fromIndex > toIndex) {
+            throw new IllegalArgumentException("index out of bounds");
+        }
+        if (fromIndex == toIndex) {
+            return;
+        }
+
+        System.arraycopy(data, toIndex, data, fromIndex, size - toIndex);
+        int newSize = size - (toIndex - fromIndex);
+        for (int i = newSize; i < size; i++) {
+            data[i] = null;//避免闲散对象(loitering objects)
+        }
+        size = newSize;
+        modCount++;
+        shrink();
+    }
+
+    /**
+     * 保证容量至少为minCapacity，需要扩容时至少扩大为原来的2倍
+     *
+     * @param minCapacity
+     */
+    public void ensureCapacity(int minCapacity) {
+        if (minCapacity > data.length) {
+            resize(Math.max(Math.max(2 * data.length, minCapacity), MIN_SIZE));
+        }
+    }
+
+    /**
+     * 将容量缩减为当前元素个数
+     */
+    public void trimToSize() {
+        if (size < data.length) {
+            resize(size);
+        }
+    }
+
+    /**
+     * 批量删除后一次性缩容到合适的容量
+     * 与remove保持一致：当容量只占总容量1/4时才将容量减半
+     */
+    private void shrink() {
+        int newCapacity = data.length;
+        while (size <= newCapacity / 4 && newCapacity / 2 >= MIN_SIZE) {
+            newCapacity /= 2;
+        }
+        if (newCapacity != data.length) {
+            resize(newCapacity);
+        }
     }
 
     private void resize(int newCapacity) {
         E[] newData = (E[]) new Object[newCapacity];
-        for (int i = 0; i < size; i++) {
-            newData[i] = data[i];
-        }
+        System.arraycopy(data, 0, newData, 0, size);
         data = newData;
     }
 
@@ -175,6 +348,339 @@ public class Array<E> {
         data[y] = t;
     }
 
+    /**
+     * 按自然顺序排序，元素必须实现Comparable
+     */
+    public void sort() {
+        sort(null);
+    }
+
+    /**
+     * 稳定的归并排序，时间复杂度O(nlogn)
+     *
+     * @param c 为null时按自然顺序排序
+     */
+    public void sort(Comparator<? super E> c) {
+        Comparator<? super E> cmp = comparator(c);
+        E[] aux = (E[]) new Object[size];
+        mergeSort(data, aux, 0, size, cmp);
+        modCount++;
+    }
+
+    public void parallelSort() {
+        parallelSort(null);
+    }
+
+    /**
+     * 基于fork/join的并行归并排序，元素个数小于阈值时退化为sort
+     *
+     * @param c 为null时按自然顺序排序
+     */
+    public void parallelSort(Comparator<? super E> c) {
+        if (size <= PARALLEL_THRESHOLD || ForkJoinPool.getCommonPoolParallelism() <= 1) {
+            sort(c);
+            return;
+        }
+        Comparator<? super E> cmp = comparator(c);
+        E[] aux = (E[]) new Object[size];
+        ForkJoinPool.commonPool().invoke(new MergeSortTask<>(data, aux, 0, size, cmp));
+        modCount++;
+    }
+
+    public int binarySearch(E e) {
+        return binarySearch(e, null);
+    }
+
+    /**
+     * 在已按c排好序的数组中二分查找e
+     *
+     * @param e
+     * @param c 为null时按自然顺序比较
+     * @return 找到时返回索引，否则返回-(插入点)-1
+     */
+    public int binarySearch(E e, Comparator<? super E> c) {
+        Comparator<? super E> cmp = comparator(c);
+        int l = 0;
+        int r = size - 1;
+        while (l <= r) {
+            int mid = (l + r) >>> 1;
+            int result = cmp.compare(data[mid], e);
+            if (result < 0) {
+                l = mid + 1;
+            } else if (result > 0) {
+                r = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(l + 1);
+    }
+
+    /**
+     * 将数组分段后在多个线程上并行查找，返回e第一次出现的索引
+     * 已经找到更靠前的结果时，后面的分段会提前结束
+     *
+     * @param e
+     * @return 不存在时返回-1
+     */
+    public int parallelFind(E e) {
+        if (size <= PARALLEL_THRESHOLD || ForkJoinPool.getCommonPoolParallelism() <= 1) {
+            return find(e);
+        }
+        AtomicInteger found = new AtomicInteger(Integer.MAX_VALUE);
+        ForkJoinPool.commonPool().invoke(new FindTask<>(data, e, 0, size, found));
+        int index = found.get();
+        return index == Integer.MAX_VALUE ? -1 : index;
+    }
+
+    public boolean parallelContains(E e) {
+        return parallelFind(e) != -1;
+    }
+
+    private static <E> Comparator<? super E> comparator(Comparator<? super E> c) {
+        if (c != null) {
+            return c;
+        }
+        return (a, b) -> ((Comparable<? super E>) a).compareTo(b);
+    }
+
+    /**
+     * 对arr[l, r)进行归并排序，aux为辅助空间
+     */
+    private static <E> void mergeSort(E[] arr, E[] aux, int l, int r, Comparator<? super E> c) {
+        if (r - l <= INSERTION_SORT_THRESHOLD) {
+            insertionSort(arr, l, r, c);
+            return;
+        }
+        int mid = (l + r) >>> 1;
+        mergeSort(arr, aux, l, mid, c);
+        mergeSort(arr, aux, mid, r, c);
+        merge(arr, aux, l, mid, r, c);
+    }
+
+    private static <E> void insertionSort(E[] arr, int l, int r, Comparator<? super E> c) {
+        for (int i = l + 1; i < r; i++) {
+            E e = arr[i];
+            int j = i;
+            for (; j > l && c.compare(arr[j - 1], e) > 0; j--) {
+                arr[j] = arr[j - 1];
+            }
+            arr[j] = e;
+        }
+    }
+
+    /**
+     * 合并arr[l, mid)和arr[mid, r)两个有序区间
+     */
+    private static <E> void merge(E[] arr, E[] aux, int l, int mid, int r, Comparator<? super E> c) {
+        //两个区间已经整体有序时不需要合并
+        if (c.compare(arr[mid - 1], arr[mid]) <= 0) {
+            return;
+        }
+        System.arraycopy(arr, l, aux, l, r - l);
+        int i = l;
+        int j = mid;
+        for (int k = l; k < r; k++) {
+            if (i >= mid) {
+                arr[k] = aux[j++];
+            } else if (j >= r) {
+                arr[k] = aux[i++];
+            } else if (c.compare(aux[j], aux[i]) < 0) {
+                arr[k] = aux[j++];
+            } else {
+                arr[k] = aux[i++];
+            }
+        }
+    }
+
+    private static class MergeSortTask<E> extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final E[] arr;
+        private final E[] aux;
+        private final int l;
+        private final int r;
+        private final Comparator<? super E> c;
+
+        MergeSortTask(E[] arr, E[] aux, int l, int r, Comparator<? super E> c) {
+            this.arr = arr;
+            this.aux = aux;
+            this.l = l;
+            this.r = r;
+            this.c = c;
+        }
+
+        @Override
+        protected void compute() {
+            if (r - l <= PARALLEL_THRESHOLD) {
+                mergeSort(arr, aux, l, r, c);
+                return;
+            }
+            int mid = (l + r) >>> 1;
+            invokeAll(new MergeSortTask<>(arr, aux, l, mid, c),
+                    new MergeSortTask<>(arr, aux, mid, r, c));
+            merge(arr, aux, l, mid, r, c);
+        }
+    }
+
+    private static class FindTask<E> extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final E[] arr;
+        private final E target;
+        private final int l;
+        private final int r;
+        private final AtomicInteger found;
+
+        FindTask(E[] arr, E target, int l, int r, AtomicInteger found) {
+            this.arr = arr;
+            this.target = target;
+            this.l = l;
+            this.r = r;
+            this.found = found;
+        }
+
+        @Override
+        protected void compute() {
+            //已经找到了更靠前的结果
+            if (l >= found.get()) {
+                return;
+            }
+            if (r - l <= PARALLEL_THRESHOLD) {
+                for (int i = l; i < r; i++) {
+                    if (Objects.equals(arr[i], target)) {
+                        found.accumulateAndGet(i, Math::min);
+                        return;
+                    }
+                }
+                return;
+            }
+            int mid = (l + r) >>> 1;
+            invokeAll(new FindTask<>(arr, target, l, mid, found),
+                    new FindTask<>(arr, target, mid, r, found));
+        }
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return new Itr();
+    }
+
+    /**
+     * 可以按索引二分的Spliterator，每一份的大小都是精确的，适合并行流
+     */
+    @Override
+    public Spliterator<E> spliterator() {
+        return new ArraySpliterator(0, size, modCount);
+    }
+
+    public Stream<E> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    public Stream<E> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
+    private class Itr implements Iterator<E> {
+        private int cursor;
+        private int lastRet = -1;
+        private int expectedModCount = modCount;
+
+        @Override
+        public boolean hasNext() {
+            return cursor != size;
+        }
+
+        @Override
+        public E next() {
+            checkForComodification();
+            if (cursor >= size) {
+                throw new NoSuchElementException();
+            }
+            lastRet = cursor++;
+            return data[lastRet];
+        }
+
+        @Override
+        public void remove() {
+            if (lastRet < 0) {
+                throw new IllegalStateException();
+            }
+            checkForComodification();
+            Array.this.remove(lastRet);
+            cursor = lastRet;
+            lastRet = -1;
+            expectedModCount = modCount;
+        }
+
+        private void checkForComodification() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
+
+    private class ArraySpliterator implements Spliterator<E> {
+        private final E[] array = data;
+        private final int expectedModCount;
+        private int index;
+        private final int fence;
+
+        ArraySpliterator(int origin, int fence, int expectedModCount) {
+            this.index = origin;
+            this.fence = fence;
+            this.expectedModCount = expectedModCount;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super E> action) {
+            Objects.requireNonNull(action);
+            if (index < fence) {
+                E e = array[index++];
+                action.accept(e);
+                if (modCount != expectedModCount) {
+                    throw new ConcurrentModificationException();
+                }
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super E> action) {
+            Objects.requireNonNull(action);
+            E[] a = array;
+            int hi = fence;
+            for (int i = index; i < hi; i++) {
+                action.accept(a[i]);
+            }
+            index = hi;
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+
+        @Override
+        public Spliterator<E> trySplit() {
+            int lo = index;
+            int mid = (lo + fence) >>> 1;
+            if (lo >= mid) {
+                return null;
+            }
+            index = mid;
+            return new ArraySpliterator(lo, mid, expectedModCount);
+        }
+
+        @Override
+        public long estimateSize() {
+            return fence - index;
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
+        }
+    }
+
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder();
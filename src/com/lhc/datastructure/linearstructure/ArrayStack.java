@@ -30,6 +30,31 @@ public class ArrayStack<E> implements Stack<E> {
         return array.getLast();
     }
 
+    /**
+     * 只做一次扩容检查和一次批量复制
+     */
+    @Override
+    public void pushAll(E[] elements) {
+        array.addAll(array.getSize(), elements);
+    }
+
+    /**
+     * 复制栈顶n个元素后一次性删除，最多缩容一次
+     */
+    @Override
+    public Array<E> popN(int n) {
+        int size = array.getSize();
+        if (n < 0 || n > size) {
+            throw new IllegalArgumentException("n is out of bounds");
+        }
+        Array<E> ret = new Array<>(n);
+        for (int i = size - 1; i >= size - n; i--) {
+            ret.addLast(array.get(i));
+        }
+        array.removeRange(size - n, size);
+        return ret;
+    }
+
     @Override
     public int getSize() {
         return array.getSize();
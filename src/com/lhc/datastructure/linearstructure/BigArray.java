@@ -0,0 +1,228 @@
+package com.lhc.datastructure.linearstructure;
+
+import java.util.Objects;
+
+/**
+ * 线性数据结构-分段动态数组
+ * 数据存放在若干个固定大小的段中，扩容时只追加新的段，不会复制已有元素
+ * 段的大小为2的幂，随机访问通过移位和掩码定位，时间复杂度O(1)
+ * 索引使用long，元素个数可以超过Integer.MAX_VALUE
+ *
+ * @param <E>
+ */
+public class BigArray<E> {
+
+    /**
+     * 默认每段2^14个元素
+     */
+    private static final int DEFAULT_SEGMENT_SHIFT = 14;
+    private static final int MIN_SEGMENTS = 4;
+
+    private final int segmentShift;
+    private final int segmentMask;
+    private final int segmentSize;
+    /**
+     * 段目录，只保存每个段的引用，扩容时只复制目录
+     */
+    private E[][] segments;
+    private int segmentCount;
+    private long size;
+
+    public BigArray() {
+        this(DEFAULT_SEGMENT_SHIFT);
+    }
+
+    /**
+     * @param segmentShift 每段元素个数为2^segmentShift
+     */
+    public BigArray(int segmentShift) {
+        if (segmentShift < 1 || segmentShift > 30) {
+            throw new IllegalArgumentException("segmentShift must be in [1, 30]");
+        }
+        this.segmentShift = segmentShift;
+        this.segmentSize = 1 << segmentShift;
+        this.segmentMask = segmentSize - 1;
+        this.segments = (E[][]) new Object[MIN_SEGMENTS][];
+        this.segmentCount = 0;
+        this.size = 0;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public long getCapacity() {
+        return (long) segmentCount << segmentShift;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * 时间复杂度O(1)
+     * 需要扩容时只分配一个新的段，不复制任何元素
+     *
+     * @param e
+     */
+    public void addLast(E e) {
+        if (size == getCapacity()) {
+            addSegment();
+        }
+        segments[(int) (size >>> segmentShift)][(int) (size & segmentMask)] = e;
+        size++;
+    }
+
+    public void addFirst(E e) {
+        add(0, e);
+    }
+
+    /**
+     * 时间复杂度O(n)
+     *
+     * @param index
+     * @param e
+     */
+    public void add(long index, E e) {
+        if (index < 0 || index > size) {
+            throw new IllegalArgumentException("index is out of bounds");
+        }
+        if (size == getCapacity()) {
+            addSegment();
+        }
+        for (long i = size; i > index; i--) {
+            setUnchecked(i, getUnchecked(i - 1));
+        }
+        setUnchecked(index, e);
+        size++;
+    }
+
+    public E get(long index) {
+        if (index < 0 || index >= size) {
+            throw new IllegalArgumentException("index out of bounds");
+        }
+        return getUnchecked(index);
+    }
+
+    public void set(long index, E e) {
+        if (index < 0 || index >= size) {
+            throw new IllegalArgumentException("index out of bounds");
+        }
+        setUnchecked(index, e);
+    }
+
+    public E getFirst() {
+        return get(0);
+    }
+
+    public E getLast() {
+        return get(size - 1);
+    }
+
+    public boolean contains(E e) {
+        return find(e) != -1;
+    }
+
+    public long find(E e) {
+        long index = 0;
+        for (int s = 0; s < segmentCount && index < size; s++) {
+            E[] segment = segments[s];
+            int n = (int) Math.min(segmentSize, size - index);
+            for (int i = 0; i < n; i++) {
+                if (Objects.equals(segment[i], e)) {
+                    return index + i;
+                }
+            }
+            index += n;
+        }
+        return -1;
+    }
+
+    /**
+     * 时间复杂度O(n)
+     *
+     * @param index
+     * @return
+     */
+    public E remove(long index) {
+        if (index < 0 || index >= size) {
+            throw new IllegalArgumentException("index out of bounds");
+        }
+        E ret = getUnchecked(index);
+        for (long i = index; i < size - 1; i++) {
+            setUnchecked(i, getUnchecked(i + 1));
+        }
+        size--;
+        setUnchecked(size, null);//避免闲散对象(loitering objects)
+        releaseSegments();
+        return ret;
+    }
+
+    public E removeFirst() {
+        return remove(0);
+    }
+
+    /**
+     * 时间复杂度O(1)
+     *
+     * @return
+     */
+    public E removeLast() {
+        return remove(size - 1);
+    }
+
+    public void swap(long x, long y) {
+        if (x < 0 || x >= size || y < 0 || y >= size) {
+            throw new IndexOutOfBoundsException("x or y is out of bounds");
+        }
+        E t = getUnchecked(x);
+        setUnchecked(x, getUnchecked(y));
+        setUnchecked(y, t);
+    }
+
+    private E getUnchecked(long index) {
+        return segments[(int) (index >>> segmentShift)][(int) (index & segmentMask)];
+    }
+
+    private void setUnchecked(long index, E e) {
+        segments[(int) (index >>> segmentShift)][(int) (index & segmentMask)] = e;
+    }
+
+    private void addSegment() {
+        if (segmentCount == segments.length) {
+            //目录中只有段的引用，复制代价为O(n / segmentSize)
+            E[][] newSegments = (E[][]) new Object[segments.length * 2][];
+            System.arraycopy(segments, 0, newSegments, 0, segmentCount);
+            segments = newSegments;
+        }
+        segments[segmentCount] = (E[]) new Object[segmentSize];
+        segmentCount++;
+    }
+
+    /**
+     * 释放尾部空闲的段，保留一个空段，避免在段边界上反复增删时频繁分配
+     */
+    private void releaseSegments() {
+        int used = (int) ((size + segmentMask) >>> segmentShift);
+        while (segmentCount > used + 1) {
+            segmentCount--;
+            segments[segmentCount] = null;
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("BigArray: size = %d , capacity = %d , segments = %d\n",
+                size, getCapacity(), segmentCount));
+        sb.append('[');
+        for (long i = 0; i < size; i++) {
+            sb.append(getUnchecked(i));
+            if (i != size - 1) {
+                sb.append(", ");
+            }
+        }
+        sb.append(']');
+        return sb.toString();
+    }
+}
@@ -0,0 +1,90 @@
+package com.lhc.datastructure.linearstructure;
+
+/**
+ * char类型的栈
+ * 与ArrayStack的接口保持一致，底层直接使用char[]存储，避免装箱带来的开销
+ * 出栈时不缩容，反复使用同一个栈时不会产生新的数组
+ */
+public class CharStack {
+
+    private static final int MIN_SIZE = 10;
+    private char[] data;
+    private int size;
+
+    public CharStack() {
+        this(MIN_SIZE);
+    }
+
+    public CharStack(int capacity) {
+        data = new char[Math.max(1, capacity)];
+        size = 0;
+    }
+
+    public void push(char e) {
+        if (size == data.length) {
+            resize(data.length * 2);
+        }
+        data[size++] = e;
+    }
+
+    public char pop() {
+        if (size == 0) {
+            throw new IllegalArgumentException("stack is empty");
+        }
+        return data[--size];
+    }
+
+    public char peek() {
+        if (size == 0) {
+            throw new IllegalArgumentException("stack is empty");
+        }
+        return data[size - 1];
+    }
+
+    /**
+     * 按照从栈底到栈顶的顺序随机访问
+     */
+    public char get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IllegalArgumentException("index is out of bounds");
+        }
+        return data[index];
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int getCapacity() {
+        return data.length;
+    }
+
+    private void resize(int newCapacity) {
+        char[] newData = new char[newCapacity];
+        System.arraycopy(data, 0, newData, 0, size);
+        data = newData;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Stack: ");
+        sb.append('[');
+        for (int i = 0; i < size; i++) {
+            sb.append(data[i]);
+            if (i != size - 1) {
+                sb.append(", ");
+            }
+        }
+        sb.append("] top");
+        return sb.toString();
+    }
+}
@@ -0,0 +1,231 @@
+package com.lhc.datastructure.linearstructure;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.function.Consumer;
+
+/**
+ * 无界无锁队列，Michael-Scott算法
+ * 与LinkedListQueue结构相同，链表头部是一个哑节点，head指向哑节点，tail指向最后一个节点(或其前驱)
+ * 入队：CAS把新节点挂到最后一个节点的next上，再CAS推进tail
+ * 出队：CAS把head推进到哑节点的后继，后继成为新的哑节点
+ * tail允许暂时落后一个节点，任何线程发现tail落后时都会帮忙推进，所以不会有线程被阻塞
+ *
+ * @param <E>
+ */
+public class ConcurrentLinkedListQueue<E> implements Queue<E> {
+
+    private static final VarHandle HEAD;
+    private static final VarHandle TAIL;
+    private static final VarHandle NEXT;
+    private static final VarHandle ITEM;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            HEAD = lookup.findVarHandle(ConcurrentLinkedListQueue.class, "head", Node.class);
+            TAIL = lookup.findVarHandle(ConcurrentLinkedListQueue.class, "tail", Node.class);
+            NEXT = lookup.findVarHandle(Node.class, "next", Node.class);
+            ITEM = lookup.findVarHandle(Node.class, "e", Object.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private static class Node<E> {
+        volatile E e;
+        volatile Node<E> next;
+
+        Node(E e) {
+            ITEM.set(this, e);
+        }
+    }
+
+    private volatile Node<E> head;
+    private volatile Node<E> tail;
+
+    public ConcurrentLinkedListQueue() {
+        Node<E> dummy = new Node<>(null);
+        head = dummy;
+        tail = dummy;
+    }
+
+    @Override
+    public void enqueue(E e) {
+        if (e == null) {
+            throw new NullPointerException();
+        }
+        Node<E> node = new Node<>(e);
+        while (true) {
+            Node<E> t = tail;
+            Node<E> next = t.next;
+            if (t != tail) {
+                continue;
+            }
+            if (next == null) {
+                if (NEXT.compareAndSet(t, null, node)) {
+                    //推进tail失败说明其他线程已经帮忙推进了
+                    TAIL.compareAndSet(this, t, node);
+                    return;
+                }
+            } else {
+                //tail落后了，帮忙推进
+                TAIL.compareAndSet(this, t, next);
+            }
+        }
+    }
+
+    /**
+     * 先在本地把新元素串成一条链，再用一次CAS整体挂到队尾
+     * 整条链对其他线程同时可见，批量入队的元素之间不会插入其他线程的元素
+     */
+    @Override
+    public void enqueueAll(E[] elements) {
+        if (elements.length == 0) {
+            return;
+        }
+        Node<E> first = null;
+        Node<E> last = null;
+        for (E e : elements) {
+            if (e == null) {
+                throw new NullPointerException();
+            }
+            Node<E> node = new Node<>(e);
+            if (first == null) {
+                first = node;
+            } else {
+                NEXT.set(last, node);
+            }
+            last = node;
+        }
+        while (true) {
+            Node<E> t = tail;
+            Node<E> next = t.next;
+            if (t != tail) {
+                continue;
+            }
+            if (next == null) {
+                if (NEXT.compareAndSet(t, null, first)) {
+                    TAIL.compareAndSet(this, t, last);
+                    return;
+                }
+            } else {
+                TAIL.compareAndSet(this, t, next);
+            }
+        }
+    }
+
+    /**
+     * 使用poll逐个取出，不会因为其他消费者同时出队而抛出异常
+     */
+    @Override
+    public int drainTo(Consumer<? super E> consumer, int maxElements) {
+        int count = 0;
+        E e;
+        while (count < maxElements && (e = poll()) != null) {
+            consumer.accept(e);
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * 与LinkedListQueue一致，队列为空时抛出IndexOutOfBoundsException
+     * 并发环境下先判断isEmpty再dequeue不是原子的，应该使用poll
+     */
+    @Override
+    public E dequeue() {
+        E ret = poll();
+        if (ret == null) {
+            throw new IndexOutOfBoundsException();
+        }
+        return ret;
+    }
+
+    /**
+     * @return 队列为空时返回null
+     */
+    public E poll() {
+        while (true) {
+            Node<E> h = head;
+            Node<E> t = tail;
+            Node<E> next = h.next;
+            if (h != head) {
+                continue;
+            }
+            if (h == t) {
+                if (next == null) {
+                    return null;
+                }
+                TAIL.compareAndSet(this, t, next);
+            } else {
+                E ret = next.e;
+                if (HEAD.compareAndSet(this, h, next)) {
+                    //next成为新的哑节点，释放对元素的引用
+                    ITEM.setOpaque(next, null);
+                    return ret;
+                }
+            }
+        }
+    }
+
+    @Override
+    public E getFront() {
+        E ret = peek();
+        if (ret == null) {
+            throw new IndexOutOfBoundsException();
+        }
+        return ret;
+    }
+
+    /**
+     * @return 队列为空时返回null
+     */
+    public E peek() {
+        while (true) {
+            Node<E> h = head;
+            Node<E> first = h.next;
+            if (first == null) {
+                return null;
+            }
+            E ret = first.e;
+            //head没有变化时first仍然是队首，读到的元素有效
+            if (h == head) {
+                return ret;
+            }
+        }
+    }
+
+    /**
+     * 需要遍历整个链表，时间复杂度O(n)，并发环境下只是一个近似值
+     */
+    @Override
+    public int getSize() {
+        int size = 0;
+        for (Node<E> cur = head.next; cur != null && size < Integer.MAX_VALUE; cur = cur.next) {
+            if (cur.e != null) {
+                size++;
+            }
+        }
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return head.next == null;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder res = new StringBuilder();
+        res.append("Queue: front ");
+        for (Node<E> cur = head.next; cur != null; cur = cur.next) {
+            E e = cur.e;
+            if (e != null) {
+                res.append(e).append("->");
+            }
+        }
+        res.append("NULL tail");
+        return res.toString();
+    }
+}
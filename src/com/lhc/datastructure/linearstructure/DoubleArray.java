@@ -0,0 +1,184 @@
+package com.lhc.datastructure.linearstructure;
+
+/**
+ * 线性数据结构-double类型的动态数组
+ * 与Array的接口保持一致，底层直接使用double[]存储，避免装箱带来的开销
+ * find与Double.equals语义一致：NaN可以被找到，0.0与-0.0视为不同元素
+ */
+public class DoubleArray {
+
+    private static final int MIN_SIZE = 10;
+    private double[] data;
+    private int size;
+
+    public DoubleArray(int capacity) {
+        data = new double[capacity];
+        size = 0;
+    }
+
+    public DoubleArray(double[] arr) {
+        data = new double[arr.length];
+        for (int i = 0; i < arr.length; i++) {
+            data[i] = arr[i];
+        }
+        size = arr.length;
+    }
+
+    public DoubleArray() {
+        this(MIN_SIZE);
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public int getCapacity() {
+        return data.length;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void addLast(double e) {
+        add(size, e);
+    }
+
+    public void addFirst(double e) {
+        add(0, e);
+    }
+
+    /**
+     * 最坏时间复杂度O(n)
+     * 均摊时间复杂度O(1)
+     *
+     * @param index
+     * @param e
+     */
+    public void add(int index, double e) {
+        if (index < 0 || index > size) {
+            throw new IllegalArgumentException("index is out of bounds");
+        }
+
+        if (size == data.length) {
+            resize(Math.max(2 * data.length, MIN_SIZE));
+        }
+
+        for (int i = size; i > index; i--) {
+            data[i] = data[i - 1];
+        }
+        data[index] = e;
+        size++;
+    }
+
+    public double get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IllegalArgumentException("index out of bounds");
+        }
+        return data[index];
+    }
+
+    public void set(int index, double e) {
+        if (index < 0 || index >= size) {
+            throw new IllegalArgumentException("index out of bounds");
+        }
+        data[index] = e;
+    }
+
+    public boolean contains(double e) {
+        return find(e) != -1;
+    }
+
+    public int find(double e) {
+        for (int i = 0; i < size; i++) {
+            if (Double.compare(data[i], e) == 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public double remove(int index) {
+        if (index < 0 || index >= size) {
+            throw new IllegalArgumentException("index out of bounds");
+        }
+        double ret = data[index];
+        for (int i = index; i < size - 1; i++) {
+            data[i] = data[i + 1];
+        }
+        size--;
+        //当容量只占总容量1/4时才将容量减半，避免复杂度震荡
+        if (size <= data.length / 4 && data.length / 2 >= MIN_SIZE) {
+            resize(data.length / 2);
+        }
+        return ret;
+    }
+
+    public double getLast() {
+        return get(size - 1);
+    }
+
+    public double getFirst() {
+        return get(0);
+    }
+
+    public double removeFirst() {
+        return remove(0);
+    }
+
+    public double removeLast() {
+        return remove(size - 1);
+    }
+
+    public boolean removeElement(double e) {
+        int i = find(e);
+        if (i != -1) {
+            remove(i);
+            return true;
+        }
+        return false;
+    }
+
+    public void removeAllElement(double e) {
+        while (true) {
+            int i = find(e);
+            if (i != -1) {
+                remove(i);
+            } else {
+                break;
+            }
+        }
+    }
+
+    private void resize(int newCapacity) {
+        double[] newData = new double[newCapacity];
+        for (int i = 0; i < size; i++) {
+            newData[i] = data[i];
+        }
+        data = newData;
+    }
+
+    public void swap(int x, int y) {
+        if (x < 0 || x >= getSize() || y < 0 || y >= getSize()) {
+            throw new IndexOutOfBoundsException("x or y is out of bounds");
+        }
+        double t = data[x];
+        data[x] = data[y];
+        data[y] = t;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("DoubleArray: size = %d , capacity = %d\n", size, data.length));
+        sb.append('[');
+        for (int i = 0; i < size; i++) {
+            sb.append(data[i]);
+            if (i != size - 1) {
+                sb.append(", ");
+            }
+        }
+        sb.append(']');
+        return sb.toString();
+    }
+}
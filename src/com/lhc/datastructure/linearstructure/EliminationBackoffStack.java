@@ -0,0 +1,95 @@
+package com.lhc.datastructure.linearstructure;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 带消除数组的无锁栈
+ * 在TreiberStack的基础上，CAS修改top失败时不是原地重试，而是到消除数组中碰运气：
+ * 入栈线程把自己的节点放进一个随机的空槽位，等待一小段时间；
+ * 出栈线程在随机槽位上看到等待中的节点，就用CAS把它取走
+ * 一次入栈和一次出栈就这样相互抵消，完全不需要访问top
+ * 竞争越激烈，碰上的概率越高，top上的竞争也就越少
+ * 等待超时没有被取走的节点会被撤回，入栈线程重新尝试修改top
+ * 消除发生时可以把入栈和出栈看作在那一刻先后发生，栈的状态没有变化，所以仍然是线性一致的
+ *
+ * @param <E>
+ */
+public class EliminationBackoffStack<E> extends TreiberStack<E> {
+
+    private static final int DEFAULT_SPINS = 128;
+
+    private final AtomicReferenceArray<Node<E>> slots;
+    private final int spins;
+
+    public EliminationBackoffStack() {
+        this(Math.max(2, Runtime.getRuntime().availableProcessors() / 2), DEFAULT_SPINS);
+    }
+
+    /**
+     * @param width 消除数组的槽位数，一般取线程数的一半左右
+     * @param spins 入栈线程在槽位上等待的自旋次数
+     */
+    public EliminationBackoffStack(int width, int spins) {
+        if (width <= 0 || spins <= 0) {
+            throw new IllegalArgumentException("width and spins must be positive");
+        }
+        this.slots = new AtomicReferenceArray<>(width);
+        this.spins = spins;
+    }
+
+    @Override
+    public void push(E e) {
+        Node<E> node = newNode(e);
+        while (!tryPush(node)) {
+            if (eliminatePush(node)) {
+                return;
+            }
+        }
+    }
+
+    @Override
+    public E poll() {
+        while (true) {
+            Node<E> t = tryPop();
+            if (t != CONTENDED) {
+                return t == null ? null : t.e;
+            }
+            Node<E> other = eliminatePop();
+            if (other != null) {
+                return other.e;
+            }
+        }
+    }
+
+    /**
+     * @return 节点被出栈线程取走时返回true，超时撤回时返回false
+     */
+    private boolean eliminatePush(Node<E> node) {
+        int index = ThreadLocalRandom.current().nextInt(slots.length());
+        if (!slots.compareAndSet(index, null, node)) {
+            //槽位被占用，说明有其他入栈线程在等，直接回去重试top
+            return false;
+        }
+        for (int i = 0; i < spins; i++) {
+            if (slots.get(index) != node) {
+                return true;
+            }
+            Thread.onSpinWait();
+        }
+        //撤回失败说明在最后一刻被取走了
+        return !slots.compareAndSet(index, node, null);
+    }
+
+    /**
+     * @return 取走的入栈节点，随机槽位上没有等待的入栈线程时返回null
+     */
+    private Node<E> eliminatePop() {
+        int index = ThreadLocalRandom.current().nextInt(slots.length());
+        Node<E> node = slots.get(index);
+        if (node != null && slots.compareAndSet(index, node, null)) {
+            return node;
+        }
+        return null;
+    }
+}
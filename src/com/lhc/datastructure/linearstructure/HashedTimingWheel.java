@@ -0,0 +1,343 @@
+package com.lhc.datastructure.linearstructure;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * 分层时间轮
+ * 时间以tick为单位，共LEVELS层，每层WHEEL_SIZE(64)个槽位，第l层每个槽位跨越64^l个tick
+ * 定时器按照到期tick与当前tick最高的不同的6位分组放入对应的层：
+ * 只有最低6位不同时放入第0层，到期时直接触发；
+ * 否则放入更高的层，等时间走到该槽位时整个槽位降级(cascade)，重新放入更低的层
+ * 每个定时器最多被降级LEVELS - 1次，因此schedule、cancel和每个定时器的触发都是O(1)的
+ * <p>
+ * 每个槽位是一个双向链表，定时器节点本身就是链表节点，取消时直接从链表中摘除
+ * 时间轮本身只由一个驱动线程通过tick/advanceTo推进，不需要加锁；
+ * 其他线程调用schedule和Timeout.cancel时只把请求放入无锁的ConcurrentLinkedListQueue，
+ * 驱动线程在每个tick开始时批量取出处理
+ * 到期的定时器先收集到一个LoopQueue中，时间轮更新完成后再批量执行
+ */
+public class HashedTimingWheel {
+
+    private static final int WHEEL_BITS = 6;
+    private static final int WHEEL_SIZE = 1 << WHEEL_BITS;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+    /**
+     * 11层覆盖了全部64位的tick，最高一层只用到最高的几位
+     */
+    private static final int LEVELS = (Long.SIZE + WHEEL_BITS - 1) / WHEEL_BITS;
+
+    private static final int PENDING = 0;
+    private static final int CANCELLED = 1;
+    private static final int EXPIRED = 2;
+
+    private static final VarHandle STATE;
+
+    static {
+        try {
+            STATE = MethodHandles.lookup().findVarHandle(Timeout.class, "state", int.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    /**
+     * 定时器，同时是槽位链表中的节点
+     */
+    public static final class Timeout {
+        private final HashedTimingWheel wheel;
+        private final Runnable task;
+        private final long deadline;
+        private volatile int state;
+        //以下字段只由驱动线程访问
+        private Timeout prev;
+        private Timeout next;
+        private Bucket bucket;
+
+        private Timeout(HashedTimingWheel wheel, Runnable task, long deadline) {
+            this.wheel = wheel;
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        /**
+         * 可以在任意线程调用，真正从槽位中摘除在驱动线程的下一个tick进行
+         *
+         * @return 定时器已经触发或者已经被取消时返回false
+         */
+        public boolean cancel() {
+            if (!STATE.compareAndSet(this, PENDING, CANCELLED)) {
+                return false;
+            }
+            wheel.cancellations.enqueue(this);
+            return true;
+        }
+
+        public boolean isCancelled() {
+            return state == CANCELLED;
+        }
+
+        public boolean isExpired() {
+            return state == EXPIRED;
+        }
+
+        /**
+         * @return 到期的tick
+         */
+        public long getDeadline() {
+            return deadline;
+        }
+
+        public Runnable getTask() {
+            return task;
+        }
+    }
+
+    /**
+     * 槽位，双向链表
+     */
+    private static final class Bucket {
+        private Timeout head;
+        private Timeout tail;
+
+        void add(Timeout t) {
+            t.bucket = this;
+            t.prev = tail;
+            t.next = null;
+            if (tail == null) {
+                head = t;
+            } else {
+                tail.next = t;
+            }
+            tail = t;
+        }
+
+        void remove(Timeout t) {
+            if (t.prev == null) {
+                head = t.next;
+            } else {
+                t.prev.next = t.next;
+            }
+            if (t.next == null) {
+                tail = t.prev;
+            } else {
+                t.next.prev = t.prev;
+            }
+            t.prev = null;
+            t.next = null;
+            t.bucket = null;
+        }
+
+        /**
+         * 整体摘下整个链表，返回链表头
+         */
+        Timeout clear() {
+            Timeout ret = head;
+            head = null;
+            tail = null;
+            return ret;
+        }
+    }
+
+    private final Bucket[][] wheels;
+    private final ConcurrentLinkedListQueue<Timeout> submissions = new ConcurrentLinkedListQueue<>();
+    private final ConcurrentLinkedListQueue<Timeout> cancellations = new ConcurrentLinkedListQueue<>();
+    private final LoopQueue<Timeout> expired = new LoopQueue<>();
+    /**
+     * 已经处理完的最后一个tick，其他线程读取时用来计算到期tick
+     */
+    private volatile long currentTick;
+    /**
+     * 已经放入槽位的定时器数量，只由驱动线程维护
+     */
+    private int size;
+
+    public HashedTimingWheel() {
+        this(0);
+    }
+
+    /**
+     * @param startTick 时间轮的起始tick
+     */
+    public HashedTimingWheel(long startTick) {
+        if (startTick < 0) {
+            throw new IllegalArgumentException("start tick must be non-negative");
+        }
+        wheels = new Bucket[LEVELS][WHEEL_SIZE];
+        for (int l = 0; l < LEVELS; l++) {
+            for (int s = 0; s < WHEEL_SIZE; s++) {
+                wheels[l][s] = new Bucket();
+            }
+        }
+        currentTick = startTick;
+    }
+
+    /**
+     * 可以在任意线程调用，不加锁
+     * 定时器会在驱动线程推进到currentTick + delay时触发，delay不足1时按1处理
+     *
+     * @param task
+     * @param delay 延迟的tick数
+     * @return 可以用来取消的定时器
+     */
+    public Timeout schedule(Runnable task, long delay) {
+        if (task == null) {
+            throw new NullPointerException();
+        }
+        long now = currentTick;
+        long deadline = delay >= Long.MAX_VALUE - now ? Long.MAX_VALUE : now + Math.max(1, delay);
+        Timeout t = new Timeout(this, task, deadline);
+        submissions.enqueue(t);
+        return t;
+    }
+
+    /**
+     * 推进一个tick，只能由驱动线程调用
+     *
+     * @return 本次触发的定时器数量
+     */
+    public int tick() {
+        long now = currentTick;
+        if (now == Long.MAX_VALUE) {
+            return 0;
+        }
+        transferSubmissions(now);
+        processCancellations();
+
+        long next = now + 1;
+        //从高层到低层依次降级，next在第l层以下的位全为0时第l层的对应槽位到期
+        int top = 0;
+        while (top + 1 < LEVELS && (next & ((1L << (WHEEL_BITS * (top + 1))) - 1)) == 0) {
+            top++;
+        }
+        for (int l = top; l >= 1; l--) {
+            cascade(wheels[l][(int) (next >>> (WHEEL_BITS * l)) & WHEEL_MASK], next);
+        }
+        //第0层的槽位整体摘下，收集到期的定时器
+        for (Timeout t = wheels[0][(int) next & WHEEL_MASK].clear(); t != null; ) {
+            Timeout following = t.next;
+            t.prev = null;
+            t.next = null;
+            t.bucket = null;
+            size--;
+            if (STATE.compareAndSet(t, PENDING, EXPIRED)) {
+                expired.enqueue(t);
+            }
+            t = following;
+        }
+        currentTick = next;
+        return fireExpired();
+    }
+
+    /**
+     * 连续推进到指定的tick，只能由驱动线程调用
+     *
+     * @return 触发的定时器总数
+     */
+    public int advanceTo(long tick) {
+        int count = 0;
+        while (currentTick < tick) {
+            count += tick();
+        }
+        return count;
+    }
+
+    /**
+     * 批量执行到期的定时器
+     * 如果某个任务抛出异常，剩下的定时器留在队列中，下一个tick继续执行
+     */
+    private int fireExpired() {
+        int count = 0;
+        while (!expired.isEmpty()) {
+            Timeout t = expired.dequeue();
+            count++;
+            t.task.run();
+        }
+        return count;
+    }
+
+    /**
+     * 把整个槽位的定时器重新放入更低的层
+     */
+    private void cascade(Bucket bucket, long now) {
+        for (Timeout t = bucket.clear(); t != null; ) {
+            Timeout following = t.next;
+            t.prev = null;
+            t.next = null;
+            place(t, now);
+            t = following;
+        }
+    }
+
+    /**
+     * 根据到期tick与参照tick最高的不同分组确定层，deadline == now时放入第0层当前槽位
+     */
+    private void place(Timeout t, long now) {
+        long diff = t.deadline ^ now;
+        int level = diff < WHEEL_SIZE ? 0 : (Long.SIZE - 1 - Long.numberOfLeadingZeros(diff)) / WHEEL_BITS;
+        wheels[level][(int) (t.deadline >>> (WHEEL_BITS * level)) & WHEEL_MASK].add(t);
+    }
+
+    /**
+     * 其他线程提交的定时器在此时才放入槽位，此前已经取消的直接丢弃
+     */
+    private void transferSubmissions(long now) {
+        Timeout t;
+        while ((t = submissions.poll()) != null) {
+            if (t.state != PENDING) {
+                continue;
+            }
+            if (t.deadline <= now) {
+                //提交时读到的currentTick已经过时，到期tick已经过去，下一个tick立即触发
+                wheels[0][(int) (now + 1) & WHEEL_MASK].add(t);
+            } else {
+                place(t, now);
+            }
+            size++;
+        }
+    }
+
+    private void processCancellations() {
+        Timeout t;
+        while ((t = cancellations.poll()) != null) {
+            Bucket bucket = t.bucket;
+            if (bucket != null) {
+                bucket.remove(t);
+                size--;
+            }
+        }
+    }
+
+    public long getCurrentTick() {
+        return currentTick;
+    }
+
+    /**
+     * 已经放入槽位、尚未触发的定时器数量(包括已取消但还没有摘除的)
+     * 不包括其他线程刚提交、还没有被驱动线程取出的定时器
+     */
+    public int getSize() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0 && submissions.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("HashedTimingWheel: size = %d , currentTick = %d", getSize(), getCurrentTick());
+    }
+
+    public static void main(String[] args) {
+        HashedTimingWheel wheel = new HashedTimingWheel();
+        for (long delay : new long[]{1, 5, 64, 100, 4096, 5000}) {
+            final long d = delay;
+            wheel.schedule(() -> System.out.println("delay " + d + " fired at " + wheel.getCurrentTick()), delay);
+        }
+        Timeout cancelled = wheel.schedule(() -> System.out.println("should not fire"), 200);
+        cancelled.cancel();
+        wheel.advanceTo(6000);
+        System.out.println(wheel);
+    }
+}
@@ -0,0 +1,307 @@
+package com.lhc.datastructure.linearstructure;
+
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Random;
+
+/**
+ * 可按索引访问的跳表
+ * 元素按插入位置排列(不是按大小排序)，每层的前向指针额外记录跨越的元素个数(span)
+ * 按索引查找时逐层累加span即可定位，get/set/add/remove的期望时间复杂度都为O(logn)
+ * 接口与LinkedList保持一致
+ *
+ * @param <E>
+ */
+public class IndexableSkipList<E> implements Iterable<E> {
+
+    private static final int MAX_LEVEL = 32;
+    /**
+     * 节点每多一层的概率
+     */
+    private static final double P = 0.25;
+
+    private class Node {
+        public E e;
+        public Node[] next;
+        /**
+         * span[i]表示从当前节点沿第i层指针走到next[i]跨越的元素个数
+         */
+        public int[] span;
+
+        public Node(E e, int level) {
+            this.e = e;
+            this.next = (Node[]) new IndexableSkipList.Node[level];
+            this.span = new int[level];
+        }
+    }
+
+    private final Node dummyHead;
+    /**
+     * 增删时记录每一层的前驱节点及其位置，复用以避免每次操作都分配数组
+     */
+    private final Node[] update;
+    private final int[] rank;
+    private final Random random;
+    private int level;
+    private int size;
+    /**
+     * 结构性修改(增删元素)的次数，用于迭代器的fail-fast检查
+     */
+    private int modCount;
+
+    public IndexableSkipList() {
+        this.dummyHead = new Node(null, MAX_LEVEL);
+        this.update = (Node[]) new IndexableSkipList.Node[MAX_LEVEL];
+        this.rank = new int[MAX_LEVEL];
+        this.random = new Random();
+        this.level = 1;
+        this.size = 0;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void addFirst(E e) {
+        add(0, e);
+    }
+
+    public void addLast(E e) {
+        add(size, e);
+    }
+
+    /**
+     * 期望时间复杂度O(logn)
+     *
+     * @param index
+     * @param e
+     */
+    public void add(int index, E e) {
+        if (index < 0 || index > size) {
+            throw new IllegalArgumentException("index out of bounds");
+        }
+
+        Node x = dummyHead;
+        //rank[i]为update[i]的位置，虚拟头节点的位置为0，第k个元素的位置为k
+        for (int i = level - 1; i >= 0; i--) {
+            rank[i] = i == level - 1 ? 0 : rank[i + 1];
+            while (x.next[i] != null && rank[i] + x.span[i] <= index) {
+                rank[i] += x.span[i];
+                x = x.next[i];
+            }
+            update[i] = x;
+        }
+
+        int newLevel = randomLevel();
+        if (newLevel > level) {
+            for (int i = level; i < newLevel; i++) {
+                rank[i] = 0;
+                update[i] = dummyHead;
+                update[i].span[i] = size;
+            }
+            level = newLevel;
+        }
+
+        Node node = new Node(e, newLevel);
+        for (int i = 0; i < newLevel; i++) {
+            node.next[i] = update[i].next[i];
+            update[i].next[i] = node;
+            node.span[i] = update[i].span[i] - (index - rank[i]);
+            update[i].span[i] = index - rank[i] + 1;
+        }
+        //更高的层没有指向新节点，但跨越了新节点
+        for (int i = newLevel; i < level; i++) {
+            update[i].span[i]++;
+        }
+        size++;
+        modCount++;
+    }
+
+    /**
+     * 期望时间复杂度O(logn)
+     *
+     * @param index
+     * @return
+     */
+    public E get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IllegalArgumentException("index out of bounds");
+        }
+        return node(index).e;
+    }
+
+    public void set(int index, E e) {
+        if (index < 0 || index >= size) {
+            throw new IllegalArgumentException("index out of bounds");
+        }
+        node(index).e = e;
+    }
+
+    public E getFirst() {
+        return get(0);
+    }
+
+    public E getLast() {
+        return get(size - 1);
+    }
+
+    public boolean contains(E e) {
+        return find(e) != -1;
+    }
+
+    public int find(E e) {
+        int index = 0;
+        for (Node cur = dummyHead.next[0]; cur != null; cur = cur.next[0]) {
+            if (Objects.equals(cur.e, e)) {
+                return index;
+            }
+            index++;
+        }
+        return -1;
+    }
+
+    /**
+     * 期望时间复杂度O(logn)
+     *
+     * @param index
+     * @return
+     */
+    public E remove(int index) {
+        if (index < 0 || index >= size) {
+            throw new IllegalArgumentException("index out of bounds");
+        }
+
+        Node x = dummyHead;
+        int r = 0;
+        for (int i = level - 1; i >= 0; i--) {
+            while (x.next[i] != null && r + x.span[i] <= index) {
+                r += x.span[i];
+                x = x.next[i];
+            }
+            update[i] = x;
+        }
+
+        Node delNode = update[0].next[0];
+        for (int i = 0; i < level; i++) {
+            if (update[i].next[i] == delNode) {
+                update[i].span[i] += delNode.span[i] - 1;
+                update[i].next[i] = delNode.next[i];
+            } else {
+                update[i].span[i]--;
+            }
+        }
+        while (level > 1 && dummyHead.next[level - 1] == null) {
+            level--;
+        }
+        size--;
+        modCount++;
+        return delNode.e;
+    }
+
+    public E removeFirst() {
+        return remove(0);
+    }
+
+    public E removeLast() {
+        return remove(size - 1);
+    }
+
+    public boolean removeElement(E e) {
+        int index = find(e);
+        if (index != -1) {
+            remove(index);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * 返回第index个元素所在的节点
+     */
+    private Node node(int index) {
+        Node x = dummyHead;
+        int r = 0;
+        //目标节点的位置为index + 1
+        for (int i = level - 1; i >= 0; i--) {
+            while (x.next[i] != null && r + x.span[i] <= index + 1) {
+                r += x.span[i];
+                x = x.next[i];
+            }
+            if (r == index + 1) {
+                return x;
+            }
+        }
+        return x;
+    }
+
+    private int randomLevel() {
+        int lvl = 1;
+        while (lvl < MAX_LEVEL && random.nextDouble() < P) {
+            lvl++;
+        }
+        return lvl;
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return new Itr();
+    }
+
+    private class Itr implements Iterator<E> {
+        private Node next = dummyHead.next[0];
+        private final int expectedModCount = modCount;
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public E next() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            E ret = next.e;
+            next = next.next[0];
+            return ret;
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (Node cur = dummyHead.next[0]; cur != null; cur = cur.next[0]) {
+            sb.append(cur.e);
+            sb.append("->");
+        }
+        sb.append("NULL");
+        return sb.toString();
+    }
+
+    public static void main(String[] args) {
+        IndexableSkipList<Integer> list = new IndexableSkipList<>();
+        for (int i = 0; i < 4; i++) {
+            list.addFirst(i);
+        }
+        for (int i = 10; i > 6; i--) {
+            list.addLast(i);
+        }
+        System.out.println(list);
+        list.add(4, 100);
+        System.out.println(list);
+        list.remove(1);
+        list.removeFirst();
+        list.removeLast();
+        System.out.println(list);
+        System.out.println(list.get(2) + " " + list.getSize() + " " + list.contains(100));
+    }
+}
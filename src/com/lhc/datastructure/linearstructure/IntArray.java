@@ -0,0 +1,183 @@
+package com.lhc.datastructure.linearstructure;
+
+/**
+ * 线性数据结构-int类型的动态数组
+ * 与Array的接口保持一致，底层直接使用int[]存储，避免装箱带来的开销
+ */
+public class IntArray {
+
+    private static final int MIN_SIZE = 10;
+    private int[] data;
+    private int size;
+
+    public IntArray(int capacity) {
+        data = new int[capacity];
+        size = 0;
+    }
+
+    public IntArray(int[] arr) {
+        data = new int[arr.length];
+        for (int i = 0; i < arr.length; i++) {
+            data[i] = arr[i];
+        }
+        size = arr.length;
+    }
+
+    public IntArray() {
+        this(MIN_SIZE);
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public int getCapacity() {
+        return data.length;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void addLast(int e) {
+        add(size, e);
+    }
+
+    public void addFirst(int e) {
+        add(0, e);
+    }
+
+    /**
+     * 最坏时间复杂度O(n)
+     * 均摊时间复杂度O(1)
+     *
+     * @param index
+     * @param e
+     */
+    public void add(int index, int e) {
+        if (index < 0 || index > size) {
+            throw new IllegalArgumentException("index is out of bounds");
+        }
+
+        if (size == data.length) {
+            resize(Math.max(2 * data.length, MIN_SIZE));
+        }
+
+        for (int i = size; i > index; i--) {
+            data[i] = data[i - 1];
+        }
+        data[index] = e;
+        size++;
+    }
+
+    public int get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IllegalArgumentException("index out of bounds");
+        }
+        return data[index];
+    }
+
+    public void set(int index, int e) {
+        if (index < 0 || index >= size) {
+            throw new IllegalArgumentException("index out of bounds");
+        }
+        data[index] = e;
+    }
+
+    public boolean contains(int e) {
+        return find(e) != -1;
+    }
+
+    public int find(int e) {
+        for (int i = 0; i < size; i++) {
+            if (data[i] == e) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public int remove(int index) {
+        if (index < 0 || index >= size) {
+            throw new IllegalArgumentException("index out of bounds");
+        }
+        int ret = data[index];
+        for (int i = index; i < size - 1; i++) {
+            data[i] = data[i + 1];
+        }
+        size--;
+        //当容量只占总容量1/4时才将容量减半，避免复杂度震荡
+        if (size <= data.length / 4 && data.length / 2 >= MIN_SIZE) {
+            resize(data.length / 2);
+        }
+        return ret;
+    }
+
+    public int getLast() {
+        return get(size - 1);
+    }
+
+    public int getFirst() {
+        return get(0);
+    }
+
+    public int removeFirst() {
+        return remove(0);
+    }
+
+    public int removeLast() {
+        return remove(size - 1);
+    }
+
+    public boolean removeElement(int e) {
+        int i = find(e);
+        if (i != -1) {
+            remove(i);
+            return true;
+        }
+        return false;
+    }
+
+    public void removeAllElement(int e) {
+        while (true) {
+            int i = find(e);
+            if (i != -1) {
+                remove(i);
+            } else {
+                break;
+            }
+        }
+    }
+
+    private void resize(int newCapacity) {
+        int[] newData = new int[newCapacity];
+        for (int i = 0; i < size; i++) {
+            newData[i] = data[i];
+        }
+        data = newData;
+    }
+
+    public void swap(int x, int y) {
+        if (x < 0 || x >= getSize() || y < 0 || y >= getSize()) {
+            throw new IndexOutOfBoundsException("x or y is out of bounds");
+        }
+        int t = data[x];
+        data[x] = data[y];
+        data[y] = t;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("IntArray: size = %d , capacity = %d\n", size, data.length));
+        sb.append('[');
+        for (int i = 0; i < size; i++) {
+            sb.append(data[i]);
+            if (i != size - 1) {
+                sb.append(", ");
+            }
+        }
+        sb.append(']');
+        return sb.toString();
+    }
+}
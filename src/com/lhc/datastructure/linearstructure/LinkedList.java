@@ -1,30 +1,55 @@
 package com.lhc.datastructure.linearstructure;
 
-public class LinkedList<E> {
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * 带有虚拟头节点和虚拟尾节点的双向链表
+ * 在链表两端增删查元素的时间复杂度都为O(1)
+ * 按索引访问时从离index更近的一端开始遍历
+ *
+ * @param <E>
+ */
+public class LinkedList<E> implements Iterable<E> {
 
     private class Node {
         public E e;
+        public Node prev;
         public Node next;
 
-        public Node(E e, Node next) {
+        public Node(E e, Node prev, Node next) {
             this.e = e;
+            this.prev = prev;
             this.next = next;
         }
 
         public Node(E e) {
-            this(e, null);
+            this(e, null, null);
         }
 
         public Node() {
-            this(null, null);
+            this(null, null, null);
         }
     }
 
     private Node dummyHead;
+    private Node dummyTail;
     private int size;
+    /**
+     * 结构性修改(增删元素)的次数，用于迭代器的fail-fast检查
+     */
+    private int modCount;
 
     public LinkedList() {
-        this.dummyHead = new Node(null, null);
+        this.dummyHead = new Node();
+        this.dummyTail = new Node();
+        dummyHead.next = dummyTail;
+        dummyTail.prev = dummyHead;
         this.size = 0;
     }
 
@@ -36,12 +61,18 @@ public class LinkedList<E> {
         return size == 0;
     }
 
+    /**
+     * 时间复杂度O(1)
+     */
     public void addFirst(E e) {
-        add(0, e);
+        linkBefore(dummyHead.next, e);
     }
 
+    /**
+     * 时间复杂度O(1)
+     */
     public void addLast(E e) {
-        add(size, e);
+        linkBefore(dummyTail, e);
     }
 
     public void add(int index, E e) {
@@ -49,12 +80,7 @@ public class LinkedList<E> {
             throw new IllegalArgumentException("index out of bounds");
         }
 
-        Node prev = dummyHead;
-        for (int i = 0; i < index; i++) {
-            prev = prev.next;
-        }
-        prev.next = new Node(e, prev.next);
-        size++;
+        linkBefore(index == size ? dummyTail : node(index), e);
     }
 
     public E get(int index) {
@@ -62,11 +88,7 @@ public class LinkedList<E> {
             throw new IllegalArgumentException("index out of bounds");
         }
 
-        Node cur = dummyHead.next;
-        for (int i = 0; i < index; i++) {
-            cur = cur.next;
-        }
-        return cur.e;
+        return node(index).e;
     }
 
     public E getFirst() {
@@ -82,20 +104,14 @@ public class LinkedList<E> {
             throw new IllegalArgumentException("index out of bounds");
         }
 
-        Node cur = dummyHead.next;
-        for (int i = 0; i < index; i++) {
-            cur = cur.next;
-        }
-        cur.e = e;
+        node(index).e = e;
     }
 
     public boolean contains(E e) {
-        Node cur = dummyHead.next;
-        while (cur != null) {
+        for (Node cur = dummyHead.next; cur != dummyTail; cur = cur.next) {
             if (cur.e.equals(e)) {
                 return true;
             }
-            cur = cur.next;
         }
         return false;
     }
@@ -105,15 +121,7 @@ public class LinkedList<E> {
             throw new IllegalArgumentException("index out of bounds");
         }
 
-        Node prev = dummyHead;
-        for (int i = 0; i < index; i++) {
-            prev = prev.next;
-        }
-        Node delNode = prev.next;
-        prev.next = delNode.next;
-        delNode.next = null;
-        size--;
-        return delNode.e;
+        return unlink(node(index));
     }
 
     public E removeFirst() {
@@ -125,17 +133,108 @@ public class LinkedList<E> {
     }
 
     public void removeElement(E e) {
-        Node prev = dummyHead;
-        for (; prev.next != null; prev = prev.next) {
-            if (prev.next.e.equals(e)) {
-                break;
+        for (Node cur = dummyHead.next; cur != dummyTail; cur = cur.next) {
+            if (cur.e.equals(e)) {
+                unlink(cur);
+                return;
             }
         }
-        if (prev.next != null) {
-            Node delNode = prev.next;
-            prev.next = delNode.next;
-            delNode.next = null;
-            size--;
+    }
+
+    /**
+     * 返回index位置的节点，从离index更近的一端开始遍历，最多遍历size/2个节点
+     */
+    private Node node(int index) {
+        if (index < (size >> 1)) {
+            Node cur = dummyHead.next;
+            for (int i = 0; i < index; i++) {
+                cur = cur.next;
+            }
+            return cur;
+        } else {
+            Node cur = dummyTail.prev;
+            for (int i = size - 1; i > index; i--) {
+                cur = cur.prev;
+            }
+            return cur;
+        }
+    }
+
+    private void linkBefore(Node succ, E e) {
+        Node node = new Node(e, succ.prev, succ);
+        succ.prev.next = node;
+        succ.prev = node;
+        size++;
+        modCount++;
+    }
+
+    private E unlink(Node delNode) {
+        delNode.prev.next = delNode.next;
+        delNode.next.prev = delNode.prev;
+        delNode.prev = null;
+        delNode.next = null;
+        size--;
+        modCount++;
+        return delNode.e;
+    }
+
+    /**
+     * 顺序遍历整个链表的时间复杂度为O(n)，而通过get(i)遍历为O(n^2)
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return new Itr();
+    }
+
+    @Override
+    public Spliterator<E> spliterator() {
+        return Spliterators.spliterator(iterator(), size, Spliterator.ORDERED);
+    }
+
+    public Stream<E> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    public Stream<E> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
+    private class Itr implements Iterator<E> {
+        private Node lastRet;
+        private Node next = dummyHead.next;
+        private int expectedModCount = modCount;
+
+        @Override
+        public boolean hasNext() {
+            return next != dummyTail;
+        }
+
+        @Override
+        public E next() {
+            checkForComodification();
+            if (next == dummyTail) {
+                throw new NoSuchElementException();
+            }
+            lastRet = next;
+            next = next.next;
+            return lastRet.e;
+        }
+
+        @Override
+        public void remove() {
+            if (lastRet == null) {
+                throw new IllegalStateException();
+            }
+            checkForComodification();
+            unlink(lastRet);
+            lastRet = null;
+            expectedModCount = modCount;
+        }
+
+        private void checkForComodification() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
         }
     }
 
@@ -143,7 +242,7 @@ public class LinkedList<E> {
     public String toString() {
         StringBuilder sb = new StringBuilder();
         Node cur = dummyHead.next;
-        while (cur != null) {
+        while (cur != dummyTail) {
             sb.append(cur.e);
             sb.append("->");
             cur = cur.next;
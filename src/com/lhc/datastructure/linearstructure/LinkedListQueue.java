@@ -1,5 +1,7 @@
 package com.lhc.datastructure.linearstructure;
 
+import java.util.function.Consumer;
+
 public class LinkedListQueue<E> implements Queue<E> {
 
     private Node head;
@@ -39,6 +41,49 @@ public class LinkedListQueue<E> implements Queue<E> {
         return retNode.e;
     }
 
+    /**
+     * 先把新元素串成一条链，再一次性挂到队尾
+     */
+    @Override
+    public void enqueueAll(E[] elements) {
+        if (elements.length == 0) {
+            return;
+        }
+        Node first = new Node(elements[0]);
+        Node last = first;
+        for (int i = 1; i < elements.length; i++) {
+            last.next = new Node(elements[i]);
+            last = last.next;
+        }
+        if (head == null) {
+            head = first;
+        } else {
+            tail.next = first;
+        }
+        tail = last;
+        size += elements.length;
+    }
+
+    /**
+     * 沿链表走一遍，不做空队列检查
+     */
+    @Override
+    public int drainTo(Consumer<? super E> consumer, int maxElements) {
+        int count = 0;
+        while (count < maxElements && head != null) {
+            Node node = head;
+            head = node.next;
+            node.next = null;
+            if (head == null) {
+                tail = null;
+            }
+            size--;
+            count++;
+            consumer.accept(node.e);
+        }
+        return count;
+    }
+
     @Override
     public E getFront() {
         if (isEmpty()) {
@@ -1,46 +1,55 @@
 package com.lhc.datastructure.linearstructure;
 
+import java.util.Iterator;
+
 /**
- * 通过LinkedList实现的栈
+ * 栈顶在first一端的栈
+ * 原来通过LinkedList实现，每次入栈都要创建一个节点，现在底层换成LoopDeque，
+ * 对外的行为和toString的格式保持不变
  */
 public class LinkedListStack<E> implements Stack<E> {
 
-    private LinkedList<E> list;
+    private LoopDeque<E> deque;
 
     public LinkedListStack() {
-        list = new LinkedList<>();
+        deque = new LoopDeque<>();
     }
 
     @Override
     public void push(E e) {
-        list.addFirst(e);
+        deque.addFirst(e);
     }
 
     @Override
     public E pop() {
-        return list.removeFirst();
+        return deque.removeFirst();
     }
 
     @Override
     public E peek() {
-        return list.getFirst();
+        return deque.getFirst();
     }
 
     @Override
     public int getSize() {
-        return list.getSize();
+        return deque.getSize();
     }
 
     @Override
     public boolean isEmpty() {
-        return list.isEmpty();
+        return deque.isEmpty();
     }
 
     @Override
     public String toString(){
         StringBuilder res = new StringBuilder();
         res.append("Stack: top ");
-        res.append(list);
+        Iterator<E> it = deque.iterator();
+        while (it.hasNext()) {
+            res.append(it.next());
+            res.append("->");
+        }
+        res.append("NULL");
         return res.toString();
     }
 
@@ -0,0 +1,420 @@
+package com.lhc.datastructure.linearstructure;
+
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * 循环双端队列
+ * 沿用LoopQueue的front/tail设计：
+ * front == tail 队列为空
+ * front == (tail + 1) & mask 队列满
+ * 数组长度保持为2的幂，用位运算代替取模，front可以向前(左)移动，因此两端的增删都是O(1)
+ * 同时实现了Queue和Stack接口，可以替代LoopQueue、ArrayStack和LinkedListStack，
+ * 入队/入栈不需要像链表那样每次创建节点，也不需要像Array.addFirst那样移动元素
+ * LoopQueue和LinkedListStack现在都是对LoopDeque的简单包装
+ *
+ * @param <E>
+ */
+public class LoopDeque<E> implements Queue<E>, Stack<E>, Iterable<E> {
+
+    private static final int MIN_SIZE = 16;
+    private E[] data;
+    private int mask;
+    private int front;
+    private int tail;
+    /**
+     * 结构性修改的次数，用于迭代器的fail-fast检查
+     */
+    private int modCount;
+
+    public LoopDeque() {
+        this(MIN_SIZE - 1);
+    }
+
+    /**
+     * @param capacity 实际容量为不小于capacity的(2的幂 - 1)
+     */
+    public LoopDeque(int capacity) {
+        int n = MIN_SIZE;
+        while (n <= capacity) {
+            n <<= 1;
+        }
+        data = (E[]) new Object[n];
+        mask = n - 1;
+        front = 0;
+        tail = 0;
+    }
+
+    public int getSize() {
+        return (tail - front) & mask;
+    }
+
+    public boolean isEmpty() {
+        return front == tail;
+    }
+
+    public int getCapacity() {
+        return data.length - 1;
+    }
+
+    /**
+     * 均摊时间复杂度O(1)
+     */
+    public void addFirst(E e) {
+        front = (front - 1) & mask;
+        data[front] = e;
+        modCount++;
+        if (front == tail) {
+            grow();
+        }
+    }
+
+    /**
+     * 均摊时间复杂度O(1)
+     */
+    public void addLast(E e) {
+        data[tail] = e;
+        tail = (tail + 1) & mask;
+        modCount++;
+        if (front == tail) {
+            grow();
+        }
+    }
+
+    public E removeFirst() {
+        if (isEmpty()) {
+            throw new IllegalArgumentException("deque is empty");
+        }
+        E ret = data[front];
+        data[front] = null;//避免闲散对象(loitering objects)
+        front = (front + 1) & mask;
+        modCount++;
+        shrink();
+        return ret;
+    }
+
+    public E removeLast() {
+        if (isEmpty()) {
+            throw new IllegalArgumentException("deque is empty");
+        }
+        tail = (tail - 1) & mask;
+        E ret = data[tail];
+        data[tail] = null;//避免闲散对象(loitering objects)
+        modCount++;
+        shrink();
+        return ret;
+    }
+
+    public E getFirst() {
+        return get(0);
+    }
+
+    public E getLast() {
+        return get(getSize() - 1);
+    }
+
+    /**
+     * 按照相对队首的逻辑索引随机访问，时间复杂度O(1)
+     */
+    public E get(int index) {
+        if (index < 0 || index >= getSize()) {
+            throw new IllegalArgumentException("index out of bounds");
+        }
+        return data[(front + index) & mask];
+    }
+
+    public void set(int index, E e) {
+        if (index < 0 || index >= getSize()) {
+            throw new IllegalArgumentException("index out of bounds");
+        }
+        data[(front + index) & mask] = e;
+    }
+
+    @Override
+    public void enqueue(E e) {
+        addLast(e);
+    }
+
+    /**
+     * 队列为空时返回null，与LoopQueue一致
+     */
+    @Override
+    public E dequeue() {
+        return isEmpty() ? null : removeFirst();
+    }
+
+    /**
+     * 队列为空时返回null，与LoopQueue一致
+     */
+    @Override
+    public E getFront() {
+        return isEmpty() ? null : data[front];
+    }
+
+    /**
+     * 只做一次扩容检查，新元素最多分两段(队尾到数组末尾、数组开头)批量复制
+     */
+    @Override
+    public void enqueueAll(E[] elements) {
+        int n = elements.length;
+        if (n == 0) {
+            return;
+        }
+        int size = getSize();
+        if (size + n > getCapacity()) {
+            int newLength = data.length;
+            while (newLength - 1 < size + n) {
+                newLength <<= 1;
+            }
+            resize(newLength, size);
+        }
+        int first = Math.min(n, data.length - tail);
+        System.arraycopy(elements, 0, data, tail, first);
+        System.arraycopy(elements, first, data, 0, n - first);
+        tail = (tail + n) & mask;
+        modCount++;
+    }
+
+    /**
+     * 连续取出最多maxElements个元素，最后一次性移动front，最多缩容一次
+     * consumer抛出异常时，已经成功交给consumer的元素被取出，抛出异常的元素仍然留在队首
+     */
+    @Override
+    public int drainTo(Consumer<? super E> consumer, int maxElements) {
+        int n = Math.min(maxElements, getSize());
+        if (n <= 0) {
+            return 0;
+        }
+        int i = 0;
+        try {
+            for (int index = front; i < n; i++, index = (index + 1) & mask) {
+                consumer.accept(data[index]);
+                data[index] = null;
+            }
+        } finally {
+            //只移动实际取出的个数，保证front之后的位置都没有被置为null
+            if (i > 0) {
+                front = (front + i) & mask;
+                modCount++;
+                shrink();
+            }
+        }
+        return n;
+    }
+
+    @Override
+    public void push(E e) {
+        addLast(e);
+    }
+
+    /**
+     * 入栈就是addLast，与enqueueAll相同
+     */
+    @Override
+    public void pushAll(E[] elements) {
+        enqueueAll(elements);
+    }
+
+    @Override
+    public E pop() {
+        return removeLast();
+    }
+
+    @Override
+    public E peek() {
+        return getLast();
+    }
+
+    /**
+     * 数组已满(front追上了tail)时容量翻倍，把元素按逻辑顺序复制到新数组开头
+     */
+    private void grow() {
+        resize(data.length << 1, data.length);
+    }
+
+    /**
+     * 当容量只占总容量1/4时才将容量减半，避免复杂度震荡
+     */
+    private void shrink() {
+        int size = getSize();
+        if (size < data.length / 4 && data.length / 2 >= MIN_SIZE) {
+            resize(data.length >> 1, size);
+        }
+    }
+
+    private void resize(int newLength, int size) {
+        E[] newData = (E[]) new Object[newLength];
+        int first = Math.min(size, data.length - front);
+        System.arraycopy(data, front, newData, 0, first);
+        System.arraycopy(data, 0, newData, first, size - first);
+        data = newData;
+        mask = newLength - 1;
+        front = 0;
+        tail = size;
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return new Itr();
+    }
+
+    /**
+     * 从first到last遍历
+     */
+    @Override
+    public Spliterator<E> spliterator() {
+        return new DequeSpliterator(0, getSize(), modCount);
+    }
+
+    public Stream<E> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    public Stream<E> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
+    private class Itr implements Iterator<E> {
+        private int cursor = front;
+        private final int expectedModCount = modCount;
+
+        @Override
+        public boolean hasNext() {
+            return cursor != tail;
+        }
+
+        @Override
+        public E next() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (cursor == tail) {
+                throw new NoSuchElementException();
+            }
+            E ret = data[cursor];
+            cursor = (cursor + 1) & mask;
+            return ret;
+        }
+    }
+
+    /**
+     * 按照相对first的逻辑索引二分
+     */
+    private class DequeSpliterator implements Spliterator<E> {
+        private final E[] array = data;
+        private final int base = front;
+        private final int expectedModCount;
+        private int index;
+        private final int fence;
+
+        DequeSpliterator(int origin, int fence, int expectedModCount) {
+            this.index = origin;
+            this.fence = fence;
+            this.expectedModCount = expectedModCount;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super E> action) {
+            Objects.requireNonNull(action);
+            if (index < fence) {
+                E e = array[(base + index++) & (array.length - 1)];
+                action.accept(e);
+                if (modCount != expectedModCount) {
+                    throw new ConcurrentModificationException();
+                }
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super E> action) {
+            Objects.requireNonNull(action);
+            E[] a = array;
+            int hi = fence;
+            //将环形区间拆成两段连续区间遍历
+            int start = base + index;
+            int end = base + hi;
+            if (start < a.length) {
+                for (int i = start, n = Math.min(end, a.length); i < n; i++) {
+                    action.accept(a[i]);
+                }
+            }
+            for (int i = Math.max(start, a.length); i < end; i++) {
+                action.accept(a[i - a.length]);
+            }
+            index = hi;
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+
+        @Override
+        public Spliterator<E> trySplit() {
+            int lo = index;
+            int mid = (lo + fence) >>> 1;
+            if (lo >= mid) {
+                return null;
+            }
+            index = mid;
+            return new DequeSpliterator(lo, mid, expectedModCount);
+        }
+
+        @Override
+        public long estimateSize() {
+            return fence - index;
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("Deque: size = %d , capacity = %d\n", getSize(), getCapacity()));
+        sb.append("first [");
+        for (int i = front; i != tail; i = (i + 1) & mask) {
+            sb.append(data[i]);
+            if (((i + 1) & mask) != tail) {
+                sb.append(", ");
+            }
+        }
+        sb.append("] last");
+        return sb.toString();
+    }
+
+    public static void main(String[] args) {
+        LoopDeque<Integer> deque = new LoopDeque<>();
+        for (int i = 0; i < 10; i++) {
+            deque.addFirst(i);
+            deque.addLast(100 + i);
+        }
+        System.out.println(deque);
+        for (int i = 0; i < 15; i++) {
+            if (i % 2 == 0) {
+                deque.removeFirst();
+            } else {
+                deque.removeLast();
+            }
+        }
+        System.out.println(deque);
+        System.out.println(deque.get(2));
+
+        Stack<Integer> stack = new LoopDeque<>();
+        Queue<Integer> queue = new LoopDeque<>();
+        for (int i = 0; i < 5; i++) {
+            stack.push(i);
+            queue.enqueue(i);
+        }
+        System.out.println(stack.pop() + " " + queue.dequeue());
+    }
+}
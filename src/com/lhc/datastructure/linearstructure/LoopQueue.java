@@ -1,94 +1,98 @@
 package com.lhc.datastructure.linearstructure;
 
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
 /**
  * 循环队里
+ * 底层是LoopDeque，只使用队尾入队、队首出队：
  * front == tail 队列为空
- * front == (tail + 1) % data.length 队列满
+ * front == (tail + 1) & mask 队列满
+ * 数组长度是2的幂，所以容量总是(2的幂 - 1)
  *
  * @param <E>
  */
-public class LoopQueue<E> implements Queue<E> {
+public class LoopQueue<E> implements Queue<E>, Iterable<E> {
 
-    private static final int MIN_SIZE = 10;
-    private E[] data;
-    private int front;
-    private int tail;
-//    private int size;
+    private final LoopDeque<E> deque;
 
     public LoopQueue() {
-        this(MIN_SIZE);
+        deque = new LoopDeque<>();
     }
 
+    /**
+     * @param capacity 实际容量为不小于capacity的(2的幂 - 1)
+     */
     public LoopQueue(int capacity) {
-        data = (E[]) new Object[capacity + 1];
-        front = 0;
-        tail = 0;
-//        size = 0;
+        deque = new LoopDeque<>(capacity);
     }
 
-
     @Override
     public void enqueue(E e) {
-        if ((tail + 1) % data.length == front) {
-            resize(getCapacity() * 2);
-        }
-        data[tail] = e;
-        tail = (tail + 1) % data.length;
-//        size++;
+        deque.addLast(e);
     }
 
-    private void resize(int newCapacity) {
-        E[] newData = (E[]) new Object[newCapacity + 1];
-        int size = getSize();
-        for (int i = 0; i < size; i++) {
-            newData[i] = data[(i + front) % data.length];
-        }
+    /**
+     * 只做一次扩容检查，新元素最多分两段(队尾到数组末尾、数组开头)批量复制
+     */
+    @Override
+    public void enqueueAll(E[] elements) {
+        deque.enqueueAll(elements);
+    }
 
-        data = newData;
-        front = 0;
-        tail = size;
+    /**
+     * 连续取出最多maxElements个元素，最后一次性移动front，最多缩容一次
+     */
+    @Override
+    public int drainTo(Consumer<? super E> consumer, int maxElements) {
+        return deque.drainTo(consumer, maxElements);
     }
 
     @Override
     public E dequeue() {
-        if (isEmpty()) {
-            return null;
-        }
-        E ret = data[front];
-        data[front] = null;
-        front = (front + 1) % data.length;
-//        size--;
-        if (getSize() < getCapacity() / 4 && getCapacity() / 2 >= MIN_SIZE) {
-            resize(getCapacity() / 2);
-        }
-        return ret;
+        return deque.dequeue();
     }
 
     @Override
     public E getFront() {
-        if (isEmpty()) {
-            return null;
-        }
-        return data[front];
+        return deque.getFront();
     }
 
     @Override
     public int getSize() {
-        if (tail >= front) {
-            return tail - front;
-        } else {
-            return data.length - front + tail;
-        }
-//        return size;
+        return deque.getSize();
     }
 
     @Override
     public boolean isEmpty() {
-        return front == tail;
+        return deque.isEmpty();
     }
 
     public int getCapacity() {
-        return data.length - 1;
+        return deque.getCapacity();
+    }
+
+    /**
+     * 从队首到队尾遍历
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return deque.iterator();
+    }
+
+    @Override
+    public Spliterator<E> spliterator() {
+        return deque.spliterator();
+    }
+
+    public Stream<E> stream() {
+        return deque.stream();
+    }
+
+    public Stream<E> parallelStream() {
+        return deque.parallelStream();
     }
 
     @Override
@@ -96,9 +100,10 @@ public class LoopQueue<E> implements Queue<E> {
         StringBuilder sb = new StringBuilder();
         sb.append(String.format("Queue: size = %d , capacity = %d\n", getSize(), getCapacity()));
         sb.append("front [");
-        for (int i = 0; i < getSize(); i++) {
-            sb.append(data[(i + front) % data.length]);
-            if ((i + front + 1) % data.length != tail) {
+        Iterator<E> it = deque.iterator();
+        while (it.hasNext()) {
+            sb.append(it.next());
+            if (it.hasNext()) {
                 sb.append(", ");
             }
         }
@@ -0,0 +1,338 @@
+package com.lhc.datastructure.linearstructure;
+
+import com.lhc.datastructure.utils.BufferUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.stream.Stream;
+
+/**
+ * 基于内存映射文件的持久化队列
+ * 沿用LoopQueue中front/tail的设计：front指向下一条要读的记录，tail指向下一条记录写入的位置
+ * 区别在于数据不是放在一个循环数组里，而是顺序追加到一组固定大小的段文件中，
+ * 段文件写满后滚动到下一个段，读完的段直接删除，相当于一个无限长、不断向前滚动的环
+ * <p>
+ * 段文件格式：[int 长度][记录内容][int 长度][记录内容]...
+ * 长度为0表示尚未写入，长度为-1表示本段已结束，需要到下一个段继续读
+ * 元数据文件只记录段大小和front的位置，front用一个long表示(段号 * 段大小 + 段内偏移)，一次写入不会被崩溃拆开；
+ * 重启时从front开始沿着长度前缀向后扫描，恢复tail和队列中的记录数，代价是打开队列需要O(n)的时间
+ * 段大小必须与创建队列时一致，否则无法从front换算出段号和偏移
+ * <p>
+ * 读写都直接操作映射到内存的文件，追加记录不需要任何系统调用；
+ * 读取时把记录所在的那段映射内存直接交给Serializer，不会先复制到byte[]中
+ * 调用flush可以把数据强制刷到磁盘，close会刷盘并解除所有映射
+ * 不是线程安全的
+ *
+ * @param <E>
+ */
+public class MappedFileQueue<E> implements Queue<E>, AutoCloseable {
+
+    private static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+    private static final int LENGTH_BYTES = Integer.BYTES;
+    private static final int END_OF_SEGMENT = -1;
+    private static final String META_FILE = "queue.meta";
+    private static final String SEGMENT_SUFFIX = ".seg";
+
+    //元数据文件中各字段的偏移
+    private static final int META_SEGMENT_SIZE = 0;
+    private static final int META_FRONT = 8;
+    private static final int META_SIZE = 16;
+
+    private final Path dir;
+    private final Serializer<E> serializer;
+    private final int segmentSize;
+    private final MappedByteBuffer meta;
+
+    private long frontSegment;
+    private int frontPosition;
+    private MappedByteBuffer frontBuffer;
+    private long tailSegment;
+    private int tailPosition;
+    private MappedByteBuffer tailBuffer;
+    private long size;
+    private boolean closed;
+
+    public MappedFileQueue(Path dir, Serializer<E> serializer) throws IOException {
+        this(dir, serializer, DEFAULT_SEGMENT_SIZE);
+    }
+
+    /**
+     * 打开dir目录下的队列，不存在时创建，存在时恢复front和tail
+     *
+     * @param dir
+     * @param serializer
+     * @param segmentSize 每个段文件的字节数，单条记录不能超过segmentSize - 8，打开已有的队列时必须与创建时相同
+     */
+    public MappedFileQueue(Path dir, Serializer<E> serializer, int segmentSize) throws IOException {
+        if (segmentSize < 64) {
+            throw new IllegalArgumentException("segment size is too small");
+        }
+        this.dir = dir;
+        this.serializer = serializer;
+        this.segmentSize = segmentSize;
+        Files.createDirectories(dir);
+        this.meta = map(dir.resolve(META_FILE), META_SIZE);
+
+        long storedSegmentSize = meta.getLong(META_SEGMENT_SIZE);
+        if (storedSegmentSize == 0) {
+            meta.putLong(META_SEGMENT_SIZE, segmentSize);
+        } else if (storedSegmentSize != segmentSize) {
+            BufferUtils.free(meta);
+            throw new IllegalArgumentException("segment size does not match the existing queue: " + storedSegmentSize);
+        }
+        long front = meta.getLong(META_FRONT);
+        frontSegment = front / segmentSize;
+        frontPosition = (int) (front % segmentSize);
+        frontBuffer = mapSegment(frontSegment);
+        recover();
+    }
+
+    /**
+     * 从front开始沿着长度前缀向后扫描，长度为0的位置就是tail，同时数出队列中的记录数
+     * 不依赖元数据中的计数；enqueue在发布长度之前先把下一条记录的长度位置清零，
+     * 所以tail之后即使残留着崩溃或写入失败留下的字节，扫描也会停在tail
+     */
+    private void recover() throws IOException {
+        tailSegment = frontSegment;
+        tailPosition = frontPosition;
+        tailBuffer = frontBuffer;
+        size = 0;
+        //enqueue保证段末尾至少还有写入结束标记的空间
+        while (tailPosition + LENGTH_BYTES <= segmentSize) {
+            int length = tailBuffer.getInt(tailPosition);
+            if (length == END_OF_SEGMENT) {
+                //下一个段可能在写完结束标记后、创建之前崩溃而不存在，rollTail会创建它
+                rollTail();
+            } else if (length > 0 && tailPosition + LENGTH_BYTES + length + LENGTH_BYTES <= segmentSize) {
+                tailPosition += LENGTH_BYTES + length;
+                size++;
+            } else {
+                break;
+            }
+        }
+    }
+
+    /**
+     * 追加一条记录，只写映射内存，不产生系统调用
+     */
+    @Override
+    public void enqueue(E e) {
+        checkOpen();
+        int length = serializer.sizeOf(e);
+        if (length <= 0 || length > segmentSize - 2 * LENGTH_BYTES) {
+            throw new IllegalArgumentException("record size is out of bounds");
+        }
+        //每个段末尾至少保留4个字节写入段结束标记
+        if (tailPosition + LENGTH_BYTES + length + LENGTH_BYTES > segmentSize) {
+            tailBuffer.putInt(tailPosition, END_OF_SEGMENT);
+            try {
+                rollTail();
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+
+        ByteBuffer record = tailBuffer.duplicate();
+        record.limit(tailPosition + LENGTH_BYTES + length).position(tailPosition + LENGTH_BYTES);
+        try {
+            serializer.write(e, record.slice());
+        } catch (RuntimeException | Error ex) {
+            //清除写了一半的内容，避免之后更短的记录后面残留看起来像长度的字节
+            clear(tailPosition + LENGTH_BYTES, length);
+            throw ex;
+        }
+        //下一条记录的长度位置可能残留着以前写了一半的内容，先清零，上面的检查保证这4个字节在段内
+        tailBuffer.putInt(tailPosition + LENGTH_BYTES + length, 0);
+        //最后写入长度，长度不为0时记录才是完整的
+        tailBuffer.putInt(tailPosition, length);
+        tailPosition += LENGTH_BYTES + length;
+        size++;
+    }
+
+    /**
+     * 队列为空时返回null，与LoopQueue一致
+     */
+    @Override
+    public E dequeue() {
+        ByteBuffer record = front();
+        if (record == null) {
+            return null;
+        }
+        //按段文件中的长度前缀前进，Serializer读取时可能改动record的position和limit
+        int length = frontBuffer.getInt(frontPosition);
+        E ret = serializer.read(record);
+        frontPosition += LENGTH_BYTES + length;
+        size--;
+        meta.putLong(META_FRONT, frontOffset());
+        return ret;
+    }
+
+    @Override
+    public E getFront() {
+        ByteBuffer record = front();
+        return record == null ? null : serializer.read(record);
+    }
+
+    /**
+     * 返回队首记录的只读视图，必要时跳到下一个段并删除已经读完的段
+     */
+    private ByteBuffer front() {
+        checkOpen();
+        if (isEmpty()) {
+            return null;
+        }
+        int length = frontBuffer.getInt(frontPosition);
+        if (length == END_OF_SEGMENT) {
+            try {
+                rollFront();
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+            length = frontBuffer.getInt(frontPosition);
+        }
+        ByteBuffer record = frontBuffer.asReadOnlyBuffer();
+        record.limit(frontPosition + LENGTH_BYTES + length).position(frontPosition + LENGTH_BYTES);
+        return record.slice();
+    }
+
+    private void clear(int from, int length) {
+        int i = 0;
+        for (; i + Long.BYTES <= length; i += Long.BYTES) {
+            tailBuffer.putLong(from + i, 0L);
+        }
+        for (; i < length; i++) {
+            tailBuffer.put(from + i, (byte) 0);
+        }
+    }
+
+    private void rollTail() throws IOException {
+        //flush只刷当前的tail段，离开这个段之前必须先把它刷盘
+        tailBuffer.force();
+        if (tailBuffer != frontBuffer) {
+            BufferUtils.free(tailBuffer);
+        }
+        tailSegment++;
+        tailPosition = 0;
+        tailBuffer = mapSegment(tailSegment);
+    }
+
+    private void rollFront() throws IOException {
+        long oldSegment = frontSegment;
+        if (frontBuffer != tailBuffer) {
+            BufferUtils.free(frontBuffer);
+        }
+        frontSegment++;
+        frontPosition = 0;
+        frontBuffer = frontSegment == tailSegment ? tailBuffer : mapSegment(frontSegment);
+        meta.putLong(META_FRONT, frontOffset());
+        //新的front落盘之后才能删除旧的段，否则崩溃后元数据可能仍然指向已经删除的段
+        meta.force();
+        Files.deleteIfExists(segmentPath(oldSegment));
+    }
+
+    private long frontOffset() {
+        return frontSegment * segmentSize + frontPosition;
+    }
+
+    @Override
+    public int getSize() {
+        return (int) Math.min(Integer.MAX_VALUE, size);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * 把映射内存中的修改强制写回磁盘
+     */
+    public void flush() {
+        checkOpen();
+        tailBuffer.force();
+        meta.force();
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        flush();
+        closed = true;
+        if (frontBuffer != tailBuffer) {
+            BufferUtils.free(frontBuffer);
+        }
+        BufferUtils.free(tailBuffer);
+        BufferUtils.free(meta);
+        frontBuffer = null;
+        tailBuffer = null;
+    }
+
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("queue is closed");
+        }
+    }
+
+    private Path segmentPath(long segment) {
+        return dir.resolve(String.format("%020d%s", segment, SEGMENT_SUFFIX));
+    }
+
+    private MappedByteBuffer mapSegment(long segment) throws IOException {
+        return map(segmentPath(segment), segmentSize);
+    }
+
+    /**
+     * 映射文件的前size个字节，文件不存在时创建，新扩展出的部分内容为0
+     */
+    private static MappedByteBuffer map(Path path, int size) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("MappedFileQueue: size = %d , front = %d:%d , tail = %d:%d",
+                getSize(), frontSegment, frontPosition, tailSegment, tailPosition);
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path dir = Files.createTempDirectory("mapped-file-queue");
+        final int n = 1000000;
+
+        long startTime = System.nanoTime();
+        try (MappedFileQueue<Long> queue = new MappedFileQueue<>(dir, Serializer.LONG, 1024 * 1024)) {
+            for (long i = 0; i < n; i++) {
+                queue.enqueue(i);
+            }
+            for (int i = 0; i < n / 2; i++) {
+                queue.dequeue();
+            }
+            System.out.println(queue);
+        }
+        long endTime = System.nanoTime();
+        System.out.println("enqueue " + n + " / dequeue " + n / 2 + ": " + (endTime - startTime) / 1000000000.0 + " s");
+
+        //重新打开，从上次的front继续读
+        try (MappedFileQueue<Long> queue = new MappedFileQueue<>(dir, Serializer.LONG, 1024 * 1024)) {
+            System.out.println("recovered: " + queue + ", front = " + queue.getFront());
+            long sum = 0;
+            Long e;
+            while ((e = queue.dequeue()) != null) {
+                sum += e;
+            }
+            try (Stream<Path> files = Files.list(dir)) {
+                System.out.println("sum = " + sum + ", files left = " + files.count());
+            }
+        }
+    }
+}
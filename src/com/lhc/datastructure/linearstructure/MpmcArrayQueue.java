@@ -0,0 +1,303 @@
+package com.lhc.datastructure.linearstructure;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * 多生产者多消费者(MPMC)的有界数组队列，基于Dmitry Vyukov的算法
+ * 每个槽位有一个序号sequence：
+ * sequence == pos 表示槽位空闲，可以被序号为pos的入队操作占用
+ * sequence == pos + 1 表示槽位已写入，可以被序号为pos的出队操作取走
+ * 出队后把sequence设置为pos + capacity，留给下一圈的入队操作
+ * 生产者之间、消费者之间只在各自的位置计数器上CAS竞争，生产者和消费者之间通过槽位序号同步
+ * 与SpscRingBuffer一样，enqueuePos和dequeuePos前后各填充64字节，落在不同的缓存行中，
+ * 避免生产者的CAS使消费者所在的缓存行失效(伪共享)
+ * 提供三种入队/出队方式：
+ * offer/poll 立即返回；offer/poll(timeout) 等待指定时间；put/take 一直等待
+ * 等待时先自旋，再让出CPU，最后短暂park，不使用锁
+ *
+ * @param <E>
+ */
+public class MpmcArrayQueue<E> implements Queue<E> {
+
+    private static final VarHandle SEQUENCE = MethodHandles.arrayElementVarHandle(long[].class);
+    private static final VarHandle ENQUEUE_POS;
+    private static final VarHandle DEQUEUE_POS;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            ENQUEUE_POS = lookup.findVarHandle(MpmcArrayQueue.class, "enqueuePos", long.class);
+            DEQUEUE_POS = lookup.findVarHandle(MpmcArrayQueue.class, "dequeuePos", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private static final int SPIN_TRIES = 64;
+    private static final int YIELD_TRIES = 64;
+    private static final long MAX_PARK_NANOS = 1000000L;
+
+    private final E[] data;
+    private final long[] sequence;
+    private final int mask;
+    private long p00, p01, p02, p03, p04, p05, p06, p07;
+    /**
+     * 下一个入队操作的序号，生产者之间CAS竞争
+     */
+    private volatile long enqueuePos;
+    private long p10, p11, p12, p13, p14, p15, p16, p17;
+    /**
+     * 下一个出队操作的序号，消费者之间CAS竞争
+     */
+    private volatile long dequeuePos;
+    private long p20, p21, p22, p23, p24, p25, p26, p27;
+
+    /**
+     * @param capacity 会向上取整为2的幂
+     */
+    public MpmcArrayQueue(int capacity) {
+        if (capacity < 2 || capacity > (1 << 30)) {
+            throw new IllegalArgumentException("capacity must be in [2, 2^30]");
+        }
+        int n = 1;
+        while (n < capacity) {
+            n <<= 1;
+        }
+        data = (E[]) new Object[n];
+        sequence = new long[n];
+        for (int i = 0; i < n; i++) {
+            sequence[i] = i;
+        }
+        mask = n - 1;
+    }
+
+    /**
+     * 队列已满时抛出IllegalStateException，需要等待时使用put或offer(e, timeout, unit)
+     */
+    @Override
+    public void enqueue(E e) {
+        if (!offer(e)) {
+            throw new IllegalStateException("queue is full");
+        }
+    }
+
+    /**
+     * 队列为空时返回null，与LoopQueue一致，需要等待时使用take或poll(timeout, unit)
+     */
+    @Override
+    public E dequeue() {
+        return poll();
+    }
+
+    /**
+     * @return 队列已满时返回false
+     */
+    public boolean offer(E e) {
+        if (e == null) {
+            throw new NullPointerException();
+        }
+        long pos = enqueuePos;
+        while (true) {
+            int index = (int) pos & mask;
+            long seq = (long) SEQUENCE.getAcquire(sequence, index);
+            long dif = seq - pos;
+            if (dif == 0) {
+                if (ENQUEUE_POS.compareAndSet(this, pos, pos + 1)) {
+                    data[index] = e;
+                    SEQUENCE.setRelease(sequence, index, pos + 1);
+                    return true;
+                }
+                pos = enqueuePos;
+            } else if (dif < 0) {
+                //槽位还没有被上一圈的消费者取走，队列已满
+                return false;
+            } else {
+                pos = enqueuePos;
+            }
+        }
+    }
+
+    /**
+     * @return 队列为空时返回null
+     */
+    public E poll() {
+        long pos = dequeuePos;
+        while (true) {
+            int index = (int) pos & mask;
+            long seq = (long) SEQUENCE.getAcquire(sequence, index);
+            long dif = seq - (pos + 1);
+            if (dif == 0) {
+                if (DEQUEUE_POS.compareAndSet(this, pos, pos + 1)) {
+                    E ret = data[index];
+                    data[index] = null;
+                    SEQUENCE.setRelease(sequence, index, pos + mask + 1);
+                    return ret;
+                }
+                pos = dequeuePos;
+            } else if (dif < 0) {
+                //槽位还没有被生产者写入，队列为空
+                return null;
+            } else {
+                pos = dequeuePos;
+            }
+        }
+    }
+
+    /**
+     * 使用poll逐个取出，不会因为其他消费者同时出队而抛出异常
+     */
+    @Override
+    public int drainTo(Consumer<? super E> consumer, int maxElements) {
+        int count = 0;
+        E e;
+        while (count < maxElements && (e = poll()) != null) {
+            consumer.accept(e);
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * 队列已满时等待，直到入队成功
+     */
+    public void put(E e) throws InterruptedException {
+        for (int attempt = 0; !offer(e); attempt++) {
+            backoff(attempt, Long.MAX_VALUE);
+        }
+    }
+
+    /**
+     * 队列为空时等待，直到取到元素
+     */
+    public E take() throws InterruptedException {
+        E ret;
+        for (int attempt = 0; (ret = poll()) == null; attempt++) {
+            backoff(attempt, Long.MAX_VALUE);
+        }
+        return ret;
+    }
+
+    /**
+     * @return 超时仍未入队成功时返回false
+     */
+    public boolean offer(E e, long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        for (int attempt = 0; !offer(e); attempt++) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return false;
+            }
+            backoff(attempt, remaining);
+        }
+        return true;
+    }
+
+    /**
+     * @return 超时仍未取到元素时返回null
+     */
+    public E poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        E ret;
+        for (int attempt = 0; (ret = poll()) == null; attempt++) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return null;
+            }
+            backoff(attempt, remaining);
+        }
+        return ret;
+    }
+
+    private static void backoff(int attempt, long maxNanos) throws InterruptedException {
+        if (Thread.interrupted()) {
+            throw new InterruptedException();
+        }
+        if (attempt < SPIN_TRIES) {
+            Thread.onSpinWait();
+        } else if (attempt < SPIN_TRIES + YIELD_TRIES) {
+            Thread.yield();
+        } else {
+            //park时间从1us开始指数增长，最长1ms
+            long parkNanos = Math.min(MAX_PARK_NANOS, 1000L << Math.min(attempt - SPIN_TRIES - YIELD_TRIES, 10));
+            LockSupport.parkNanos(Math.min(maxNanos, parkNanos));
+        }
+    }
+
+    /**
+     * 并发环境下返回的只是调用时刻的队首元素，可能已经被其他消费者取走
+     */
+    @Override
+    public E getFront() {
+        long pos = dequeuePos;
+        int index = (int) pos & mask;
+        long seq = (long) SEQUENCE.getAcquire(sequence, index);
+        return seq == pos + 1 ? data[index] : null;
+    }
+
+    /**
+     * 并发环境下只是一个近似值
+     */
+    @Override
+    public int getSize() {
+        long size = enqueuePos - dequeuePos;
+        return (int) Math.max(0, Math.min(size, data.length));
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return getSize() == 0;
+    }
+
+    public int getCapacity() {
+        return data.length;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("MpmcArrayQueue: size = %d , capacity = %d", getSize(), getCapacity());
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        final int total = 4000000;
+        for (int threads = 1; threads <= 8; threads *= 2) {
+            MpmcArrayQueue<Integer> queue = new MpmcArrayQueue<>(1024);
+            final int perThread = total / threads;
+            Integer value = 1;
+            Thread[] workers = new Thread[threads * 2];
+            for (int i = 0; i < threads; i++) {
+                workers[i] = new Thread(() -> {
+                    try {
+                        for (int j = 0; j < perThread; j++) {
+                            queue.put(value);
+                        }
+                    } catch (InterruptedException ignored) {
+                    }
+                });
+                workers[threads + i] = new Thread(() -> {
+                    try {
+                        for (int j = 0; j < perThread; j++) {
+                            queue.take();
+                        }
+                    } catch (InterruptedException ignored) {
+                    }
+                });
+            }
+
+            long startTime = System.nanoTime();
+            for (Thread worker : workers) {
+                worker.start();
+            }
+            for (Thread worker : workers) {
+                worker.join();
+            }
+            long endTime = System.nanoTime();
+            System.out.println(threads + " producers / " + threads + " consumers: "
+                    + (long) perThread * threads * 1000.0 / (endTime - startTime) + " M ops/s, remaining = "
+                    + queue.getSize());
+        }
+    }
+}
@@ -0,0 +1,366 @@
+package com.lhc.datastructure.linearstructure;
+
+import com.lhc.datastructure.utils.BufferUtils;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * 线性数据结构-堆外定长记录动态数组
+ * 每个元素按照RecordLayout编码成固定长度的字节，连续存放在DirectByteBuffer中
+ * 数组中不保存任何元素对象，不会给GC带来额外负担
+ * 可以通过getLong/setLong等方法直接读写记录中的字段，避免读取时创建对象
+ * 使用完毕后必须调用close释放堆外内存，close之后任何访问都会抛出IllegalStateException
+ * 所有记录放在同一个ByteBuffer中，总字节数不能超过Integer.MAX_VALUE，
+ * 容量上限是Integer.MAX_VALUE / recordSize(例如16字节的记录约1.34亿条)，超过时抛出IllegalArgumentException；
+ * 需要更大的容量时可以参考BigArray，把记录分到多个ByteBuffer中
+ *
+ * @param <E>
+ */
+public class OffHeapArray<E> implements AutoCloseable {
+
+    private static final int MIN_SIZE = 10;
+
+    private final RecordLayout<E> layout;
+    private final int recordSize;
+    private ByteBuffer buffer;
+    private int capacity;
+    private int size;
+
+    public OffHeapArray(RecordLayout<E> layout, int capacity) {
+        if (layout.byteSize() <= 0) {
+            throw new IllegalArgumentException("record size must be positive");
+        }
+        this.layout = layout;
+        this.recordSize = layout.byteSize();
+        this.buffer = allocate(capacity);
+        this.capacity = capacity;
+        this.size = 0;
+    }
+
+    public OffHeapArray(RecordLayout<E> layout) {
+        this(layout, MIN_SIZE);
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public int getRecordSize() {
+        return recordSize;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void addLast(E e) {
+        add(size, e);
+    }
+
+    public void addFirst(E e) {
+        add(0, e);
+    }
+
+    public void add(int index, E e) {
+        addEmpty(index);
+        layout.write(buffer, offset(index), e);
+    }
+
+    /**
+     * 在index位置插入一条所有字节都为0的记录，之后可以通过setLong等方法逐个字段写入
+     * 最坏时间复杂度O(n)
+     * 均摊时间复杂度O(1)
+     *
+     * @param index
+     */
+    public void addEmpty(int index) {
+        checkOpen();
+        if (index < 0 || index > size) {
+            throw new IllegalArgumentException("index is out of bounds");
+        }
+
+        if (size == capacity) {
+            resize(growCapacity());
+        }
+
+        move(offset(index), offset(index + 1), (size - index) * recordSize);
+        clear(offset(index), recordSize);
+        size++;
+    }
+
+    public E get(int index) {
+        checkIndex(index);
+        return layout.read(buffer, offset(index));
+    }
+
+    public void set(int index, E e) {
+        checkIndex(index);
+        layout.write(buffer, offset(index), e);
+    }
+
+    public E getFirst() {
+        return get(0);
+    }
+
+    public E getLast() {
+        return get(size - 1);
+    }
+
+    public long getLong(int index, int fieldOffset) {
+        return buffer.getLong(fieldOffset(index, fieldOffset, Long.BYTES));
+    }
+
+    public void setLong(int index, int fieldOffset, long value) {
+        buffer.putLong(fieldOffset(index, fieldOffset, Long.BYTES), value);
+    }
+
+    public int getInt(int index, int fieldOffset) {
+        return buffer.getInt(fieldOffset(index, fieldOffset, Integer.BYTES));
+    }
+
+    public void setInt(int index, int fieldOffset, int value) {
+        buffer.putInt(fieldOffset(index, fieldOffset, Integer.BYTES), value);
+    }
+
+    public double getDouble(int index, int fieldOffset) {
+        return buffer.getDouble(fieldOffset(index, fieldOffset, Double.BYTES));
+    }
+
+    public void setDouble(int index, int fieldOffset, double value) {
+        buffer.putDouble(fieldOffset(index, fieldOffset, Double.BYTES), value);
+    }
+
+    /**
+     * 删除index位置的记录，并返回按layout解码后的元素
+     *
+     * @param index
+     * @return
+     */
+    public E remove(int index) {
+        E ret = get(index);
+        delete(index);
+        return ret;
+    }
+
+    /**
+     * 删除index位置的记录，不创建任何对象
+     *
+     * @param index
+     */
+    public void delete(int index) {
+        checkIndex(index);
+        move(offset(index + 1), offset(index), (size - index - 1) * recordSize);
+        size--;
+        //当容量只占总容量1/4时才将容量减半，避免复杂度震荡
+        if (size <= capacity / 4 && capacity / 2 >= MIN_SIZE) {
+            resize(capacity / 2);
+        }
+    }
+
+    public E removeFirst() {
+        return remove(0);
+    }
+
+    public E removeLast() {
+        return remove(size - 1);
+    }
+
+    public void swap(int x, int y) {
+        checkOpen();
+        if (x < 0 || x >= size || y < 0 || y >= size) {
+            throw new IndexOutOfBoundsException("x or y is out of bounds");
+        }
+        if (x == y) {
+            return;
+        }
+        int xOffset = offset(x);
+        int yOffset = offset(y);
+        int i = 0;
+        for (; i + Long.BYTES <= recordSize; i += Long.BYTES) {
+            long t = buffer.getLong(xOffset + i);
+            buffer.putLong(xOffset + i, buffer.getLong(yOffset + i));
+            buffer.putLong(yOffset + i, t);
+        }
+        for (; i < recordSize; i++) {
+            byte t = buffer.get(xOffset + i);
+            buffer.put(xOffset + i, buffer.get(yOffset + i));
+            buffer.put(yOffset + i, t);
+        }
+    }
+
+    public boolean isClosed() {
+        return buffer == null;
+    }
+
+    /**
+     * 立即释放堆外内存
+     */
+    @Override
+    public void close() {
+        if (buffer != null) {
+            BufferUtils.free(buffer);
+            buffer = null;
+            size = 0;
+            capacity = 0;
+        }
+    }
+
+    private int offset(int index) {
+        return index * recordSize;
+    }
+
+    private int fieldOffset(int index, int fieldOffset, int fieldSize) {
+        checkIndex(index);
+        if (fieldOffset < 0 || fieldOffset + fieldSize > recordSize) {
+            throw new IllegalArgumentException("field offset out of record bounds");
+        }
+        return offset(index) + fieldOffset;
+    }
+
+    private void checkIndex(int index) {
+        checkOpen();
+        if (index < 0 || index >= size) {
+            throw new IllegalArgumentException("index out of bounds");
+        }
+    }
+
+    private void checkOpen() {
+        if (buffer == null) {
+            throw new IllegalStateException("array is closed");
+        }
+    }
+
+    /**
+     * 在buffer内部移动length个字节，源区间和目标区间可以重叠
+     * 目标在源的前面或者两者不重叠时，从前往后一次批量复制整个区间；
+     * 目标与源重叠并且在源的后面时，从后往前按long复制，避免覆盖还没有读取的源数据
+     */
+    private void move(int from, int to, int length) {
+        if (length == 0 || from == to) {
+            return;
+        }
+        if (to < from || to >= from + length) {
+            copy(from, to, length);
+            return;
+        }
+        int i = length;
+        for (; i >= Long.BYTES; i -= Long.BYTES) {
+            buffer.putLong(to + i - Long.BYTES, buffer.getLong(from + i - Long.BYTES));
+        }
+        for (; i > 0; i--) {
+            buffer.put(to + i - 1, buffer.get(from + i - 1));
+        }
+    }
+
+    private void copy(int from, int to, int length) {
+        copy(buffer, from, buffer, to, length);
+    }
+
+    private static void copy(ByteBuffer src, int from, ByteBuffer dest, int to, int length) {
+        ByteBuffer s = src.duplicate();
+        s.limit(from + length).position(from);
+        ByteBuffer d = dest.duplicate();
+        d.position(to);
+        d.put(s);
+    }
+
+    private void clear(int from, int length) {
+        int i = 0;
+        for (; i + Long.BYTES <= length; i += Long.BYTES) {
+            buffer.putLong(from + i, 0L);
+        }
+        for (; i < length; i++) {
+            buffer.put(from + i, (byte) 0);
+        }
+    }
+
+    /**
+     * 容量翻倍，但不超过一个ByteBuffer能容纳的记录数
+     */
+    private int growCapacity() {
+        int maxCapacity = Integer.MAX_VALUE / recordSize;
+        if (capacity >= maxCapacity) {
+            throw new IllegalArgumentException("capacity is out of bounds");
+        }
+        return (int) Math.min(Math.max(2L * capacity, MIN_SIZE), maxCapacity);
+    }
+
+    private void resize(int newCapacity) {
+        ByteBuffer newBuffer = allocate(newCapacity);
+        copy(buffer, 0, newBuffer, 0, size * recordSize);
+        BufferUtils.free(buffer);
+        buffer = newBuffer;
+        capacity = newCapacity;
+    }
+
+    private ByteBuffer allocate(int capacity) {
+        if (capacity < 0 || (long) capacity * recordSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("capacity is out of bounds");
+        }
+        return ByteBuffer.allocateDirect(capacity * recordSize).order(ByteOrder.nativeOrder());
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("OffHeapArray: size = %d , capacity = %d , recordSize = %d\n",
+                size, capacity, recordSize));
+        sb.append('[');
+        for (int i = 0; i < size; i++) {
+            sb.append(get(i));
+            if (i != size - 1) {
+                sb.append(", ");
+            }
+        }
+        sb.append(']');
+        return sb.toString();
+    }
+
+    public static void main(String[] args) {
+        //由一个long类型的id和一个long类型的timestamp组成的16字节记录
+        final int idOffset = 0;
+        final int timeOffset = Long.BYTES;
+        RecordLayout<long[]> layout = new RecordLayout<long[]>() {
+            @Override
+            public int byteSize() {
+                return Long.BYTES + Long.BYTES;
+            }
+
+            @Override
+            public void write(ByteBuffer buffer, int offset, long[] e) {
+                buffer.putLong(offset + idOffset, e[0]);
+                buffer.putLong(offset + timeOffset, e[1]);
+            }
+
+            @Override
+            public long[] read(ByteBuffer buffer, int offset) {
+                return new long[]{buffer.getLong(offset + idOffset), buffer.getLong(offset + timeOffset)};
+            }
+        };
+
+        try (OffHeapArray<long[]> records = new OffHeapArray<>(layout)) {
+            for (int i = 0; i < 20; i++) {
+                records.addEmpty(records.getSize());
+                records.setLong(i, idOffset, i);
+                records.setLong(i, timeOffset, 1000L * i);
+            }
+            records.swap(0, 19);
+            records.delete(10);
+            System.out.println(records.getSize() + " " + records.getLong(0, idOffset) + " "
+                    + records.getLong(0, timeOffset) + " " + records.get(10)[0]);
+        }
+
+        try (OffHeapArray<Long> longs = new OffHeapArray<>(RecordLayout.LONG)) {
+            for (long i = 0; i < 5; i++) {
+                longs.addFirst(i);
+            }
+            longs.removeLast();
+            System.out.println(longs);
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.lhc.datastructure.linearstructure;
 
+import java.util.function.Consumer;
+
 /**
  * First In First Out 先进先出
  */
@@ -14,4 +16,32 @@ public interface Queue<E> {
     int getSize();
 
     boolean isEmpty();
+
+    /**
+     * 按数组顺序批量入队
+     * 默认逐个入队，实现类可以只做一次扩容检查和一次批量复制
+     *
+     * @param elements
+     */
+    default void enqueueAll(E[] elements) {
+        for (E e : elements) {
+            enqueue(e);
+        }
+    }
+
+    /**
+     * 从队首开始最多取出maxElements个元素交给consumer
+     *
+     * @param consumer
+     * @param maxElements
+     * @return 实际取出的元素个数
+     */
+    default int drainTo(Consumer<? super E> consumer, int maxElements) {
+        int count = 0;
+        while (count < maxElements && !isEmpty()) {
+            consumer.accept(dequeue());
+            count++;
+        }
+        return count;
+    }
 }
@@ -0,0 +1,38 @@
+package com.lhc.datastructure.linearstructure;
+
+import java.nio.ByteBuffer;
+
+/**
+ * 定长记录的内存布局，描述一个元素如何写入和读出OffHeapArray中的一段字节
+ * 读写都使用绝对位置，不会改变buffer的position
+ *
+ * @param <E>
+ */
+public interface RecordLayout<E> {
+
+    RecordLayout<Long> LONG = new RecordLayout<Long>() {
+        @Override
+        public int byteSize() {
+            return Long.BYTES;
+        }
+
+        @Override
+        public void write(ByteBuffer buffer, int offset, Long e) {
+            buffer.putLong(offset, e);
+        }
+
+        @Override
+        public Long read(ByteBuffer buffer, int offset) {
+            return buffer.getLong(offset);
+        }
+    };
+
+    /**
+     * 每条记录占用的字节数
+     */
+    int byteSize();
+
+    void write(ByteBuffer buffer, int offset, E e);
+
+    E read(ByteBuffer buffer, int offset);
+}
@@ -0,0 +1,60 @@
+package com.lhc.datastructure.linearstructure;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 变长记录的序列化方式，供MappedFileQueue使用
+ * write和read拿到的buffer都是只覆盖当前记录的视图，position为0，limit为记录长度
+ * read直接读取映射到内存的文件内容，不会先复制到byte[]中
+ * 段文件读完后会被解除映射，所以不能在read返回之后继续持有buffer
+ *
+ * @param <E>
+ */
+public interface Serializer<E> {
+
+    Serializer<String> STRING = new Serializer<String>() {
+        @Override
+        public int sizeOf(String e) {
+            return e.getBytes(StandardCharsets.UTF_8).length;
+        }
+
+        @Override
+        public void write(String e, ByteBuffer buffer) {
+            buffer.put(e.getBytes(StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public String read(ByteBuffer buffer) {
+            byte[] bytes = new byte[buffer.remaining()];
+            buffer.get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    };
+
+    Serializer<Long> LONG = new Serializer<Long>() {
+        @Override
+        public int sizeOf(Long e) {
+            return Long.BYTES;
+        }
+
+        @Override
+        public void write(Long e, ByteBuffer buffer) {
+            buffer.putLong(e);
+        }
+
+        @Override
+        public Long read(ByteBuffer buffer) {
+            return buffer.getLong();
+        }
+    };
+
+    /**
+     * 序列化后占用的字节数
+     */
+    int sizeOf(E e);
+
+    void write(E e, ByteBuffer buffer);
+
+    E read(ByteBuffer buffer);
+}
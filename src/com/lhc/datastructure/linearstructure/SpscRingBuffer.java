@@ -0,0 +1,252 @@
+package com.lhc.datastructure.linearstructure;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.function.Consumer;
+
+/**
+ * 单生产者单消费者(SPSC)的无锁有界环形队列
+ * 在LoopQueue的基础上做了以下改动：
+ * 1、容量为2的幂，用位运算(& mask)代替取模
+ * 2、head和tail是单调递增的long序号，不会回绕，空和满可以直接用序号差判断，不需要浪费一个位置
+ * 3、head和tail分别放在独立的缓存行中，避免生产者和消费者之间的伪共享：
+ * 字段都是long，HotSpot把同样大小的字段按声明顺序排列，在tail、head前后各填充64字节即可
+ * 4、通过VarHandle的release/acquire语义发布序号，保证元素写入对另一线程可见，不使用锁
+ * 5、生产者缓存上一次读到的head，消费者缓存上一次读到的tail，减少对共享变量的读取
+ * 只允许一个线程调用enqueue/offer，一个线程调用dequeue/poll/getFront
+ * 容量固定，不会扩容
+ *
+ * @param <E>
+ */
+public class SpscRingBuffer<E> implements Queue<E> {
+
+    private static final VarHandle HEAD;
+    private static final VarHandle TAIL;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            HEAD = lookup.findVarHandle(SpscRingBuffer.class, "head", long.class);
+            TAIL = lookup.findVarHandle(SpscRingBuffer.class, "tail", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private long p00, p01, p02, p03, p04, p05, p06, p07;
+    /**
+     * 下一个写入位置的序号，只由生产者写入
+     */
+    private long tail;
+    /**
+     * 生产者看到的head的缓存
+     */
+    private long headCache;
+    private long p10, p11, p12, p13, p14, p15, p16, p17;
+    /**
+     * 下一个读取位置的序号，只由消费者写入
+     */
+    private long head;
+    /**
+     * 消费者看到的tail的缓存
+     */
+    private long tailCache;
+    private long p20, p21, p22, p23, p24, p25, p26, p27;
+
+    private final E[] data;
+    private final int mask;
+
+    /**
+     * @param capacity 会向上取整为2的幂
+     */
+    public SpscRingBuffer(int capacity) {
+        if (capacity < 1 || capacity > (1 << 30)) {
+            throw new IllegalArgumentException("capacity must be in [1, 2^30]");
+        }
+        int n = 1;
+        while (n < capacity) {
+            n <<= 1;
+        }
+        data = (E[]) new Object[n];
+        mask = n - 1;
+    }
+
+    /**
+     * 队列已满时抛出IllegalStateException，需要等待时使用offer
+     */
+    @Override
+    public void enqueue(E e) {
+        if (!offer(e)) {
+            throw new IllegalStateException("queue is full");
+        }
+    }
+
+    /**
+     * 生产者调用
+     *
+     * @return 队列已满时返回false
+     */
+    public boolean offer(E e) {
+        if (e == null) {
+            throw new NullPointerException();
+        }
+        long t = tail;
+        if (t - headCache >= data.length) {
+            headCache = (long) HEAD.getAcquire(this);
+            if (t - headCache >= data.length) {
+                return false;
+            }
+        }
+        data[(int) t & mask] = e;
+        TAIL.setRelease(this, t + 1);
+        return true;
+    }
+
+    /**
+     * 队列为空时返回null，与LoopQueue一致
+     */
+    @Override
+    public E dequeue() {
+        return poll();
+    }
+
+    /**
+     * 消费者调用
+     *
+     * @return 队列为空时返回null
+     */
+    public E poll() {
+        long h = head;
+        if (h >= tailCache) {
+            tailCache = (long) TAIL.getAcquire(this);
+            if (h >= tailCache) {
+                return null;
+            }
+        }
+        int index = (int) h & mask;
+        E ret = data[index];
+        data[index] = null;
+        HEAD.setRelease(this, h + 1);
+        return ret;
+    }
+
+    /**
+     * 生产者调用，只检查一次剩余空间，全部写入后只发布一次tail
+     * 剩余空间不足时不写入任何元素，抛出IllegalStateException
+     */
+    @Override
+    public void enqueueAll(E[] elements) {
+        int n = elements.length;
+        for (E e : elements) {
+            if (e == null) {
+                throw new NullPointerException();
+            }
+        }
+        long t = tail;
+        if (t + n - headCache > data.length) {
+            headCache = (long) HEAD.getAcquire(this);
+            if (t + n - headCache > data.length) {
+                throw new IllegalStateException("queue is full");
+            }
+        }
+        for (int i = 0; i < n; i++) {
+            data[(int) (t + i) & mask] = elements[i];
+        }
+        TAIL.setRelease(this, t + n);
+    }
+
+    /**
+     * 消费者调用，只读取一次tail，全部取出后只发布一次head
+     * consumer抛出异常时只发布已经成功交给consumer的元素，抛出异常的元素仍然留在队首
+     */
+    @Override
+    public int drainTo(Consumer<? super E> consumer, int maxElements) {
+        long h = head;
+        long t = (long) TAIL.getAcquire(this);
+        tailCache = t;
+        int n = (int) Math.min(maxElements, t - h);
+        if (n <= 0) {
+            return 0;
+        }
+        int i = 0;
+        try {
+            for (; i < n; i++) {
+                int index = (int) (h + i) & mask;
+                consumer.accept(data[index]);
+                data[index] = null;
+            }
+        } finally {
+            if (i > 0) {
+                HEAD.setRelease(this, h + i);
+            }
+        }
+        return n;
+    }
+
+    /**
+     * 消费者调用
+     */
+    @Override
+    public E getFront() {
+        long h = head;
+        if (h >= tailCache) {
+            tailCache = (long) TAIL.getAcquire(this);
+            if (h >= tailCache) {
+                return null;
+            }
+        }
+        return data[(int) h & mask];
+    }
+
+    /**
+     * 其他线程调用时只是一个近似值
+     */
+    @Override
+    public int getSize() {
+        long h = (long) HEAD.getAcquire(this);
+        long t = (long) TAIL.getAcquire(this);
+        return (int) Math.max(0, Math.min(t - h, data.length));
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return getSize() == 0;
+    }
+
+    public int getCapacity() {
+        return data.length;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("SpscRingBuffer: size = %d , capacity = %d", getSize(), getCapacity());
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        final int n = 10000000;
+        SpscRingBuffer<Integer> queue = new SpscRingBuffer<>(1024);
+        Integer value = 1;
+
+        Thread producer = new Thread(() -> {
+            for (int i = 0; i < n; i++) {
+                while (!queue.offer(value)) {
+                    Thread.yield();
+                }
+            }
+        });
+
+        long startTime = System.nanoTime();
+        producer.start();
+        long sum = 0;
+        for (int i = 0; i < n; i++) {
+            Integer e;
+            while ((e = queue.poll()) == null) {
+                Thread.yield();
+            }
+            sum += e;
+        }
+        producer.join();
+        long endTime = System.nanoTime();
+        System.out.println("SpscRingBuffer: " + n * 1000.0 / (endTime - startTime) + " M ops/s, sum = " + sum);
+    }
+}
@@ -18,4 +18,33 @@ public interface Stack<E> {
     public int getSize();
 
     boolean isEmpty();
+
+    /**
+     * 按数组顺序批量入栈，数组最后一个元素成为栈顶
+     * 默认逐个入栈，实现类可以只做一次扩容检查和一次批量复制
+     *
+     * @param elements
+     */
+    default void pushAll(E[] elements) {
+        for (E e : elements) {
+            push(e);
+        }
+    }
+
+    /**
+     * 批量出栈n个元素，等价于连续调用n次pop
+     *
+     * @param n
+     * @return 按出栈顺序排列的元素，第一个是原来的栈顶
+     */
+    default Array<E> popN(int n) {
+        if (n < 0 || n > getSize()) {
+            throw new IllegalArgumentException("n is out of bounds");
+        }
+        Array<E> ret = new Array<>(n);
+        for (int i = 0; i < n; i++) {
+            ret.addLast(pop());
+        }
+        return ret;
+    }
 }
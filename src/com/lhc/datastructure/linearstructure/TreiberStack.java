@@ -0,0 +1,168 @@
+package com.lhc.datastructure.linearstructure;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * 无锁栈，Treiber算法
+ * 与LinkedListStack一样在链表头部入栈出栈，top指向栈顶节点
+ * 入栈：新节点的next指向当前栈顶，CAS把top换成新节点
+ * 出栈：CAS把top换成栈顶节点的next
+ * 节点入栈后不再修改，也不会被复用，所以不存在ABA问题
+ *
+ * @param <E>
+ */
+public class TreiberStack<E> implements Stack<E> {
+
+    private static final VarHandle TOP;
+
+    static {
+        try {
+            TOP = MethodHandles.lookup().findVarHandle(TreiberStack.class, "top", Node.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    /**
+     * tryPop竞争失败时返回的特殊节点
+     */
+    static final Node<?> CONTENDED = new Node<>(null);
+
+    static final class Node<E> {
+        final E e;
+        Node<E> next;
+
+        Node(E e) {
+            this.e = e;
+        }
+    }
+
+    private volatile Node<E> top;
+
+    @Override
+    public void push(E e) {
+        Node<E> node = newNode(e);
+        while (!tryPush(node)) {
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * 先在本地把新元素串成一条链，再用一次CAS整体放到栈顶，数组最后一个元素成为栈顶
+     * 整条链对其他线程同时可见，批量入栈的元素之间不会插入其他线程的元素
+     */
+    @Override
+    public void pushAll(E[] elements) {
+        if (elements.length == 0) {
+            return;
+        }
+        Node<E> bottom = newNode(elements[0]);
+        Node<E> first = bottom;
+        for (int i = 1; i < elements.length; i++) {
+            Node<E> node = newNode(elements[i]);
+            node.next = first;
+            first = node;
+        }
+        while (true) {
+            Node<E> t = top;
+            bottom.next = t;
+            if (TOP.compareAndSet(this, t, first)) {
+                return;
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * 与LinkedListStack一致，栈为空时抛出IllegalArgumentException
+     * 并发环境下先判断isEmpty再pop不是原子的，应该使用poll
+     */
+    @Override
+    public E pop() {
+        E ret = poll();
+        if (ret == null) {
+            throw new IllegalArgumentException("stack is empty");
+        }
+        return ret;
+    }
+
+    /**
+     * @return 栈为空时返回null
+     */
+    public E poll() {
+        while (true) {
+            Node<E> t = tryPop();
+            if (t != CONTENDED) {
+                return t == null ? null : t.e;
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    @Override
+    public E peek() {
+        Node<E> t = top;
+        if (t == null) {
+            throw new IllegalArgumentException("stack is empty");
+        }
+        return t.e;
+    }
+
+    /**
+     * 只尝试一次CAS入栈，竞争失败时返回false，子类可以在失败后选择其他退避策略
+     */
+    boolean tryPush(Node<E> node) {
+        Node<E> t = top;
+        node.next = t;
+        return TOP.compareAndSet(this, t, node);
+    }
+
+    /**
+     * 只尝试一次CAS出栈
+     *
+     * @return 出栈的节点，栈为空时返回null，竞争失败时返回CONTENDED
+     */
+    Node<E> tryPop() {
+        Node<E> t = top;
+        if (t == null) {
+            return null;
+        }
+        return TOP.compareAndSet(this, t, t.next) ? t : (Node<E>) CONTENDED;
+    }
+
+    static <E> Node<E> newNode(E e) {
+        if (e == null) {
+            throw new NullPointerException();
+        }
+        return new Node<>(e);
+    }
+
+    /**
+     * 需要遍历整个链表，时间复杂度O(n)，并发环境下只是一个近似值
+     */
+    @Override
+    public int getSize() {
+        int size = 0;
+        for (Node<E> cur = top; cur != null && size < Integer.MAX_VALUE; cur = cur.next) {
+            size++;
+        }
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return top == null;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder res = new StringBuilder();
+        res.append("Stack: top ");
+        for (Node<E> cur = top; cur != null; cur = cur.next) {
+            res.append(cur.e).append("->");
+        }
+        res.append("NULL");
+        return res.toString();
+    }
+}
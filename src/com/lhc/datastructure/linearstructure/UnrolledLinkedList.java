@@ -0,0 +1,352 @@
+package com.lhc.datastructure.linearstructure;
+
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * 展开链表(Unrolled Linked List)
+ * 每个节点保存一个小数组，遍历时大部分访问都落在连续内存上，对CPU缓存友好
+ * 节点的对象头和指针开销被数组中的多个元素分摊
+ * 节点满时一分为二；节点元素过少时与后继节点合并，保证空间利用率
+ *
+ * @param <E>
+ */
+public class UnrolledLinkedList<E> implements Iterable<E> {
+
+    private static final int DEFAULT_NODE_CAPACITY = 64;
+
+    private class Node {
+        public E[] elements;
+        public int count;
+        public Node prev;
+        public Node next;
+
+        public Node() {
+            this.elements = (E[]) new Object[nodeCapacity];
+            this.count = 0;
+        }
+    }
+
+    /**
+     * 某个索引所在的节点，以及它在节点数组中的偏移
+     */
+    private class Position {
+        public final Node node;
+        public final int offset;
+
+        public Position(Node node, int offset) {
+            this.node = node;
+            this.offset = offset;
+        }
+    }
+
+    private final int nodeCapacity;
+    private Node head;
+    private Node tail;
+    private int size;
+    /**
+     * 结构性修改(增删元素)的次数，用于迭代器的fail-fast检查
+     */
+    private int modCount;
+
+    public UnrolledLinkedList() {
+        this(DEFAULT_NODE_CAPACITY);
+    }
+
+    public UnrolledLinkedList(int nodeCapacity) {
+        if (nodeCapacity < 4) {
+            throw new IllegalArgumentException("node capacity must be at least 4");
+        }
+        this.nodeCapacity = nodeCapacity;
+        this.head = null;
+        this.tail = null;
+        this.size = 0;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void addFirst(E e) {
+        add(0, e);
+    }
+
+    /**
+     * 时间复杂度O(1)
+     * 尾节点满时直接追加一个新节点，不做拆分，顺序追加时每个节点都是满的
+     */
+    public void addLast(E e) {
+        if (tail == null || tail.count == nodeCapacity) {
+            Node node = new Node();
+            linkAfter(tail, node);
+        }
+        tail.elements[tail.count++] = e;
+        size++;
+        modCount++;
+    }
+
+    public void add(int index, E e) {
+        if (index < 0 || index > size) {
+            throw new IllegalArgumentException("index out of bounds");
+        }
+        if (index == size) {
+            addLast(e);
+            return;
+        }
+
+        Node node = head;
+        int offset = index;
+        if (index <= size >> 1) {
+            while (offset > node.count || (offset == node.count && node.count == nodeCapacity)) {
+                offset -= node.count;
+                node = node.next;
+            }
+        } else {
+            node = tail;
+            offset = index - (size - tail.count);
+            while (offset < 0) {
+                node = node.prev;
+                offset += node.count;
+            }
+        }
+
+        if (node.count == nodeCapacity) {
+            //节点已满，把后一半元素移到新节点
+            Node newNode = new Node();
+            int half = nodeCapacity / 2;
+            System.arraycopy(node.elements, half, newNode.elements, 0, nodeCapacity - half);
+            for (int i = half; i < nodeCapacity; i++) {
+                node.elements[i] = null;
+            }
+            newNode.count = nodeCapacity - half;
+            node.count = half;
+            linkAfter(node, newNode);
+            if (offset > half) {
+                node = newNode;
+                offset -= half;
+            }
+        }
+        System.arraycopy(node.elements, offset, node.elements, offset + 1, node.count - offset);
+        node.elements[offset] = e;
+        node.count++;
+        size++;
+        modCount++;
+    }
+
+    public E get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IllegalArgumentException("index out of bounds");
+        }
+        Position p = position(index);
+        return p.node.elements[p.offset];
+    }
+
+    public void set(int index, E e) {
+        if (index < 0 || index >= size) {
+            throw new IllegalArgumentException("index out of bounds");
+        }
+        Position p = position(index);
+        p.node.elements[p.offset] = e;
+    }
+
+    public E getFirst() {
+        return get(0);
+    }
+
+    public E getLast() {
+        return get(size - 1);
+    }
+
+    public boolean contains(E e) {
+        return find(e) != -1;
+    }
+
+    public int find(E e) {
+        int base = 0;
+        for (Node node = head; node != null; node = node.next) {
+            E[] elements = node.elements;
+            for (int i = 0; i < node.count; i++) {
+                if (Objects.equals(elements[i], e)) {
+                    return base + i;
+                }
+            }
+            base += node.count;
+        }
+        return -1;
+    }
+
+    public E remove(int index) {
+        if (index < 0 || index >= size) {
+            throw new IllegalArgumentException("index out of bounds");
+        }
+        Position p = position(index);
+        return removeAt(p.node, p.offset);
+    }
+
+    public E removeFirst() {
+        return remove(0);
+    }
+
+    public E removeLast() {
+        return remove(size - 1);
+    }
+
+    public boolean removeElement(E e) {
+        for (Node node = head; node != null; node = node.next) {
+            for (int i = 0; i < node.count; i++) {
+                if (Objects.equals(node.elements[i], e)) {
+                    removeAt(node, i);
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 返回index所在的节点和节点内的偏移
+     * 从离index更近的一端开始按节点跳跃，base是当前节点第一个元素的索引
+     */
+    private Position position(int index) {
+        if (index < size >> 1) {
+            int base = 0;
+            Node node = head;
+            while (index >= base + node.count) {
+                base += node.count;
+                node = node.next;
+            }
+            return new Position(node, index - base);
+        } else {
+            int base = size - tail.count;
+            Node node = tail;
+            while (index < base) {
+                node = node.prev;
+                base -= node.count;
+            }
+            return new Position(node, index - base);
+        }
+    }
+
+    private E removeAt(Node node, int offset) {
+        E ret = node.elements[offset];
+        System.arraycopy(node.elements, offset + 1, node.elements, offset, node.count - offset - 1);
+        node.count--;
+        node.elements[node.count] = null;//避免闲散对象(loitering objects)
+        size--;
+        modCount++;
+
+        if (node.count == 0) {
+            unlink(node);
+        } else if (node.count < nodeCapacity / 4 && node.next != null
+                && node.count + node.next.count <= nodeCapacity / 2) {
+            //元素过少时合并后继节点，避免出现大量稀疏节点
+            Node next = node.next;
+            System.arraycopy(next.elements, 0, node.elements, node.count, next.count);
+            node.count += next.count;
+            unlink(next);
+        }
+        return ret;
+    }
+
+    private void linkAfter(Node pred, Node node) {
+        node.prev = pred;
+        if (pred == null) {
+            node.next = head;
+            head = node;
+        } else {
+            node.next = pred.next;
+            pred.next = node;
+        }
+        if (node.next == null) {
+            tail = node;
+        } else {
+            node.next.prev = node;
+        }
+    }
+
+    private void unlink(Node node) {
+        if (node.prev == null) {
+            head = node.next;
+        } else {
+            node.prev.next = node.next;
+        }
+        if (node.next == null) {
+            tail = node.prev;
+        } else {
+            node.next.prev = node.prev;
+        }
+        node.prev = null;
+        node.next = null;
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return new Itr();
+    }
+
+    private class Itr implements Iterator<E> {
+        private Node node = head;
+        private int offset;
+        private final int expectedModCount = modCount;
+
+        @Override
+        public boolean hasNext() {
+            return node != null && offset < node.count;
+        }
+
+        @Override
+        public E next() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            E ret = node.elements[offset++];
+            if (offset == node.count) {
+                node = node.next;
+                offset = 0;
+            }
+            return ret;
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (Node node = head; node != null; node = node.next) {
+            sb.append('[');
+            for (int i = 0; i < node.count; i++) {
+                sb.append(node.elements[i]);
+                if (i != node.count - 1) {
+                    sb.append(", ");
+                }
+            }
+            sb.append("]->");
+        }
+        sb.append("NULL");
+        return sb.toString();
+    }
+
+    public static void main(String[] args) {
+        UnrolledLinkedList<Integer> list = new UnrolledLinkedList<>(4);
+        for (int i = 0; i < 10; i++) {
+            list.addLast(i);
+        }
+        System.out.println(list);
+        list.add(2, 100);
+        list.addFirst(-1);
+        System.out.println(list);
+        list.remove(3);
+        list.removeFirst();
+        list.removeLast();
+        System.out.println(list);
+        System.out.println(list.get(5) + " " + list.contains(100) + " " + list.getSize());
+    }
+}
@@ -0,0 +1,161 @@
+package com.lhc.datastructure.linearstructure;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * 工作窃取双端队列，Chase-Lev算法
+ * 只有一个所有者线程在bottom端push/pop，像栈一样后进先出，不需要CAS；
+ * 其他任意多个窃取者线程在top端steal，像队列一样先进先出，通过CAS竞争top
+ * 只有当队列里只剩一个元素时，所有者pop才需要和窃取者CAS竞争
+ * 底层是一个可以扩容的循环数组，与LoopDeque一样长度保持为2的幂，用位运算代替取模
+ * 扩容只由所有者线程进行，旧数组在扩容后不再修改，窃取者读到旧数组仍然能取到正确的元素
+ *
+ * @param <E>
+ */
+public class WorkStealingDeque<E> {
+
+    private static final VarHandle TOP;
+    private static final VarHandle SLOT = MethodHandles.arrayElementVarHandle(Object[].class);
+    private static final int MIN_SIZE = 16;
+
+    static {
+        try {
+            TOP = MethodHandles.lookup().findVarHandle(WorkStealingDeque.class, "top", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    /**
+     * 下一个被窃取元素的位置，只增不减
+     */
+    private volatile long top;
+    /**
+     * 所有者下一个push的位置，只有所有者线程修改
+     */
+    private volatile long bottom;
+    private volatile Object[] data;
+
+    public WorkStealingDeque() {
+        this(MIN_SIZE);
+    }
+
+    /**
+     * @param capacity 初始容量，会向上取整为2的幂，容量不够时自动扩容
+     */
+    public WorkStealingDeque(int capacity) {
+        int n = MIN_SIZE;
+        while (n < capacity) {
+            n <<= 1;
+        }
+        data = new Object[n];
+    }
+
+    /**
+     * 只能由所有者线程调用
+     */
+    public void push(E e) {
+        if (e == null) {
+            throw new NullPointerException();
+        }
+        long b = bottom;
+        long t = top;
+        Object[] a = data;
+        if (b - t > a.length - 1) {
+            a = grow(a, t, b);
+        }
+        a[(int) b & (a.length - 1)] = e;
+        //volatile写保证元素先于新的bottom对窃取者可见
+        bottom = b + 1;
+    }
+
+    /**
+     * 只能由所有者线程调用，后进先出
+     *
+     * @return 队列为空或者最后一个元素被窃取者抢走时返回null
+     */
+    public E pop() {
+        long b = bottom - 1;
+        Object[] a = data;
+        //先发布新的bottom再读top，与steal中先读top再读bottom的顺序配合，
+        //保证所有者和窃取者不会同时拿到同一个元素
+        bottom = b;
+        long t = top;
+        if (t > b) {
+            //队列为空，恢复bottom
+            bottom = b + 1;
+            return null;
+        }
+        int index = (int) b & (a.length - 1);
+        E ret = (E) a[index];
+        if (t == b) {
+            //只剩最后一个元素，和窃取者竞争
+            if (!TOP.compareAndSet(this, t, t + 1)) {
+                ret = null;
+            }
+            bottom = b + 1;
+        }
+        if (ret != null) {
+            SLOT.setOpaque(a, index, null);
+        }
+        return ret;
+    }
+
+    /**
+     * 可以由任意线程调用，先进先出
+     *
+     * @return 队列为空或者和其他线程竞争失败时返回null，窃取者通常换一个队列再试
+     */
+    public E steal() {
+        long t = top;
+        long b = bottom;
+        if (t >= b) {
+            return null;
+        }
+        Object[] a = data;
+        int index = (int) t & (a.length - 1);
+        E ret = (E) SLOT.getVolatile(a, index);
+        if (ret == null || !TOP.compareAndSet(this, t, t + 1)) {
+            return null;
+        }
+        //槽位可能已经被所有者绕一圈后重新写入，只在仍是原元素时清空
+        SLOT.compareAndSet(a, index, ret, null);
+        return ret;
+    }
+
+    /**
+     * 容量翻倍，把[t, b)之间的元素复制到新数组的相同逻辑位置
+     */
+    private Object[] grow(Object[] a, long t, long b) {
+        Object[] newData = new Object[a.length << 1];
+        int oldMask = a.length - 1;
+        int newMask = newData.length - 1;
+        for (long i = t; i < b; i++) {
+            newData[(int) i & newMask] = a[(int) i & oldMask];
+        }
+        data = newData;
+        return newData;
+    }
+
+    /**
+     * 并发环境下只是一个近似值
+     */
+    public int getSize() {
+        long size = bottom - top;
+        return (int) Math.max(0, size);
+    }
+
+    public boolean isEmpty() {
+        return getSize() == 0;
+    }
+
+    public int getCapacity() {
+        return data.length;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("WorkStealingDeque: size = %d , capacity = %d", getSize(), getCapacity());
+    }
+}
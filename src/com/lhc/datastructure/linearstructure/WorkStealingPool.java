@@ -0,0 +1,346 @@
+package com.lhc.datastructure.linearstructure;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 基于WorkStealingDeque的简单fork/join线程池
+ * 每个工作线程有一个自己的WorkStealingDeque：
+ * fork把子任务push到当前线程的队列，join时先pop自己队列里的任务执行，
+ * 自己的队列空了就随机挑选其他工作线程的队列steal，保证等待join时线程也在干活
+ * 从池外提交的任务放在一个共享的ConcurrentLinkedListQueue中，空闲的工作线程会去取
+ * 空闲的工作线程先自旋，再让出CPU，再短暂park，仍然没有任务时无限期park，
+ * 直到池外提交任务或者fork产生新的任务时被唤醒
+ */
+public class WorkStealingPool implements AutoCloseable {
+
+    private static final int SPIN_TRIES = 64;
+    private static final int YIELD_TRIES = 64;
+    private static final int PARK_TRIES = 64;
+    private static final long MAX_PARK_NANOS = 100000L;
+
+    private final Worker[] workers;
+    private final ConcurrentLinkedListQueue<Task<?>> submissions = new ConcurrentLinkedListQueue<>();
+    private final AtomicInteger parkedWorkers = new AtomicInteger();
+    private volatile boolean shutdown;
+
+    public WorkStealingPool() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public WorkStealingPool(int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("parallelism must be positive");
+        }
+        workers = new Worker[parallelism];
+        for (int i = 0; i < parallelism; i++) {
+            workers[i] = new Worker(this, i);
+        }
+        for (Worker worker : workers) {
+            worker.start();
+        }
+    }
+
+    /**
+     * 执行任务并等待结果，在池内的工作线程中调用时直接执行
+     */
+    public <T> T invoke(Task<T> task) {
+        Thread thread = Thread.currentThread();
+        if (thread instanceof Worker && ((Worker) thread).pool == this) {
+            task.exec();
+            return task.join();
+        }
+        if (shutdown) {
+            throw new IllegalStateException("pool is shutdown");
+        }
+        submissions.enqueue(task);
+        //入队之前shutdown可能已经清空了submissions，需要自己取消刚放进去的任务
+        if (shutdown) {
+            cancelSubmissions();
+        }
+        for (Worker worker : workers) {
+            LockSupport.unpark(worker);
+        }
+        return task.externalJoin();
+    }
+
+    public int getParallelism() {
+        return workers.length;
+    }
+
+    /**
+     * 通知工作线程退出，已经提交但尚未执行的任务不再执行，
+     * 这些任务以CancellationException结束，等待它们的池外线程不会一直阻塞
+     */
+    public void shutdown() {
+        shutdown = true;
+        cancelSubmissions();
+        for (Worker worker : workers) {
+            LockSupport.unpark(worker);
+        }
+    }
+
+    /**
+     * poll是原子的，每个任务要么被工作线程取走执行，要么在这里被取消，不会两者都发生
+     */
+    private void cancelSubmissions() {
+        Task<?> task;
+        while ((task = submissions.poll()) != null) {
+            task.cancel();
+        }
+    }
+
+    @Override
+    public void close() {
+        shutdown();
+        for (Worker worker : workers) {
+            try {
+                worker.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * 从其他工作线程的队列中窃取一个任务，从随机位置开始依次尝试每个队列
+     */
+    private Task<?> steal(Worker self) {
+        int n = workers.length;
+        int start = ThreadLocalRandom.current().nextInt(n);
+        for (int i = 0; i < n; i++) {
+            Worker victim = workers[(start + i) % n];
+            if (victim != self) {
+                Task<?> task = victim.deque.steal();
+                if (task != null) {
+                    return task;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 依次尝试自己的队列、其他工作线程的队列和池外提交的任务
+     */
+    private Task<?> findTask(Worker self) {
+        Task<?> task = self.deque.pop();
+        if (task == null) {
+            task = steal(self);
+        }
+        if (task == null) {
+            task = submissions.poll();
+        }
+        return task;
+    }
+
+    private boolean hasTask() {
+        if (!submissions.isEmpty()) {
+            return true;
+        }
+        for (Worker worker : workers) {
+            if (!worker.deque.isEmpty()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 无限期park，直到invoke或fork唤醒
+     * 先登记为parked再检查一次有没有任务，fork则是先push再检查有没有parked的线程，
+     * 两边都是先写后读，不会出现任务已经放入、线程却仍然park的情况
+     */
+    private void await(Worker self) {
+        self.parked = true;
+        parkedWorkers.incrementAndGet();
+        if (!shutdown && !hasTask()) {
+            LockSupport.park(this);
+        }
+        parkedWorkers.decrementAndGet();
+        self.parked = false;
+    }
+
+    /**
+     * fork产生了新任务，有无限期park的工作线程时唤醒一个来窃取
+     */
+    private void signalWork() {
+        if (parkedWorkers.get() == 0) {
+            return;
+        }
+        for (Worker worker : workers) {
+            if (worker.parked) {
+                LockSupport.unpark(worker);
+                return;
+            }
+        }
+    }
+
+    private static void idle(int attempt) {
+        if (attempt < SPIN_TRIES) {
+            Thread.onSpinWait();
+        } else if (attempt < SPIN_TRIES + YIELD_TRIES) {
+            Thread.yield();
+        } else {
+            //park时间从1us开始指数增长，最长100us
+            long parkNanos = Math.min(MAX_PARK_NANOS, 1000L << Math.min(attempt - SPIN_TRIES - YIELD_TRIES, 7));
+            LockSupport.parkNanos(parkNanos);
+        }
+    }
+
+    private static final class Worker extends Thread {
+        private final WorkStealingPool pool;
+        private final WorkStealingDeque<Task<?>> deque = new WorkStealingDeque<>();
+        private volatile boolean parked;
+
+        Worker(WorkStealingPool pool, int index) {
+            super("WorkStealingPool-worker-" + index);
+            this.pool = pool;
+            setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            int attempt = 0;
+            while (!pool.shutdown) {
+                Task<?> task = pool.findTask(this);
+                if (task != null) {
+                    task.exec();
+                    attempt = 0;
+                } else if (attempt < SPIN_TRIES + YIELD_TRIES + PARK_TRIES) {
+                    idle(attempt++);
+                } else {
+                    pool.await(this);
+                    attempt = 0;
+                }
+            }
+        }
+    }
+
+    /**
+     * 可以fork/join的任务，子类实现compute
+     * fork和join只能在WorkStealingPool的工作线程中调用
+     *
+     * @param <T>
+     */
+    public static abstract class Task<T> {
+
+        private static final int NEW = 0;
+        private static final int DONE = 1;
+
+        private volatile int status = NEW;
+        private volatile boolean externalWaiting;
+        private T result;
+        private Throwable exception;
+
+        protected abstract T compute();
+
+        /**
+         * 把任务放入当前工作线程的队列，稍后由自己或其他工作线程执行
+         */
+        public final Task<T> fork() {
+            Thread thread = Thread.currentThread();
+            if (!(thread instanceof Worker)) {
+                throw new IllegalStateException("fork must be called in a WorkStealingPool worker");
+            }
+            Worker worker = (Worker) thread;
+            worker.deque.push(this);
+            worker.pool.signalWork();
+            return this;
+        }
+
+        /**
+         * 等待任务完成并返回结果，等待期间执行其他任务
+         * 最常见的情况是刚fork的任务还在自己队列的栈顶，直接pop出来执行即可
+         */
+        public final T join() {
+            if (status != DONE) {
+                Thread thread = Thread.currentThread();
+                if (!(thread instanceof Worker)) {
+                    return externalJoin();
+                }
+                Worker worker = (Worker) thread;
+                int attempt = 0;
+                while (status != DONE) {
+                    Task<?> task = worker.pool.findTask(worker);
+                    if (task != null) {
+                        task.exec();
+                        attempt = 0;
+                    } else {
+                        //任务已经被窃取，正在其他线程上执行
+                        idle(attempt++);
+                    }
+                }
+            }
+            return report();
+        }
+
+        public final boolean isDone() {
+            return status == DONE;
+        }
+
+        private void exec() {
+            try {
+                result = compute();
+            } catch (Throwable ex) {
+                exception = ex;
+            }
+            finish();
+        }
+
+        /**
+         * 线程池关闭时尚未执行的任务以CancellationException结束
+         */
+        private void cancel() {
+            exception = new CancellationException("pool is shutdown");
+            finish();
+        }
+
+        private void finish() {
+            //volatile写保证result和exception对join的线程可见
+            status = DONE;
+            if (externalWaiting) {
+                synchronized (this) {
+                    notifyAll();
+                }
+            }
+        }
+
+        /**
+         * 池外的线程不能帮忙执行任务，只能阻塞等待
+         */
+        private T externalJoin() {
+            boolean interrupted = false;
+            synchronized (this) {
+                externalWaiting = true;
+                while (status != DONE) {
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        interrupted = true;
+                    }
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+            return report();
+        }
+
+        private T report() {
+            if (exception instanceof RuntimeException) {
+                throw (RuntimeException) exception;
+            }
+            if (exception instanceof Error) {
+                throw (Error) exception;
+            }
+            if (exception != null) {
+                throw new RuntimeException(exception);
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.lhc.datastructure.linearstructure.test;
+
+import com.lhc.datastructure.linearstructure.Array;
+
+import java.util.Random;
+
+/**
+ * 测试Array的串行/并行排序以及串行/并行查找的性能
+ */
+public class TestArraySort {
+
+    private static final int N = 5000000;
+
+    public static void main(String[] args) {
+        System.out.println("CPU cores: " + Runtime.getRuntime().availableProcessors());
+        Random random = new Random(42);
+        Integer[] arr = new Integer[N];
+        for (int i = 0; i < N; i++) {
+            arr[i] = random.nextInt(Integer.MAX_VALUE);
+        }
+
+        long startTime = 0;
+        long endTime = 0;
+
+        //Test sort
+        Array<Integer> array = new Array<>(arr);
+        startTime = System.nanoTime();
+        array.sort();
+        endTime = System.nanoTime();
+        System.out.println("sort: " + (endTime - startTime) / 1000000000.0 + " s, sorted: " + isSorted(array));
+
+        //Test parallelSort
+        array = new Array<>(arr);
+        startTime = System.nanoTime();
+        array.parallelSort();
+        endTime = System.nanoTime();
+        System.out.println("parallelSort: " + (endTime - startTime) / 1000000000.0 + " s, sorted: " + isSorted(array));
+
+        //Test binarySearch
+        startTime = System.nanoTime();
+        int hits = 0;
+        for (int i = 0; i < 1000; i++) {
+            if (array.binarySearch(arr[i]) >= 0) {
+                hits++;
+            }
+        }
+        endTime = System.nanoTime();
+        System.out.println("binarySearch x1000: " + (endTime - startTime) / 1000000000.0 + " s, hits: " + hits);
+
+        //Test find / parallelFind，查找不存在的元素，需要扫描整个数组
+        array = new Array<>(arr);
+        Integer missing = -1;
+        startTime = System.nanoTime();
+        for (int i = 0; i < 20; i++) {
+            array.find(missing);
+        }
+        endTime = System.nanoTime();
+        System.out.println("find x20: " + (endTime - startTime) / 1000000000.0 + " s");
+
+        startTime = System.nanoTime();
+        for (int i = 0; i < 20; i++) {
+            array.parallelFind(missing);
+        }
+        endTime = System.nanoTime();
+        System.out.println("parallelFind x20: " + (endTime - startTime) / 1000000000.0 + " s");
+        System.out.println("parallelFind == find: " + (array.parallelFind(arr[N - 10]) == array.find(arr[N - 10])));
+    }
+
+    private static boolean isSorted(Array<Integer> array) {
+        for (int i = 1; i < array.getSize(); i++) {
+            if (array.get(i - 1) > array.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,45 @@
+package com.lhc.datastructure.linearstructure.test;
+
+import com.lhc.datastructure.linearstructure.Array;
+import com.lhc.datastructure.linearstructure.BigArray;
+
+/**
+ * 测试Array和BigArray在持续addLast时的单次最大耗时
+ * Array扩容时需要复制全部元素，BigArray只追加一个新的段
+ */
+public class TestBigArray {
+
+    private static final int N = 20000000;
+
+    public static void main(String[] args) {
+        Integer value = 1;
+
+        //Test Array
+        Array<Integer> array = new Array<>();
+        long maxTime = 0;
+        long startTime = System.nanoTime();
+        for (int i = 0; i < N; i++) {
+            long t = System.nanoTime();
+            array.addLast(value);
+            maxTime = Math.max(maxTime, System.nanoTime() - t);
+        }
+        long endTime = System.nanoTime();
+        System.out.println("Array: " + (endTime - startTime) / 1000000000.0 + " s, max addLast: "
+                + maxTime / 1000000.0 + " ms");
+        array = null;
+
+        //Test BigArray
+        BigArray<Integer> bigArray = new BigArray<>();
+        maxTime = 0;
+        startTime = System.nanoTime();
+        for (int i = 0; i < N; i++) {
+            long t = System.nanoTime();
+            bigArray.addLast(value);
+            maxTime = Math.max(maxTime, System.nanoTime() - t);
+        }
+        endTime = System.nanoTime();
+        System.out.println("BigArray: " + (endTime - startTime) / 1000000000.0 + " s, max addLast: "
+                + maxTime / 1000000.0 + " ms");
+        System.out.println("size: " + bigArray.getSize() + ", capacity: " + bigArray.getCapacity());
+    }
+}
@@ -0,0 +1,141 @@
+package com.lhc.datastructure.linearstructure.test;
+
+import com.lhc.datastructure.linearstructure.ConcurrentLinkedListQueue;
+import com.lhc.datastructure.linearstructure.LinkedListQueue;
+
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * ConcurrentLinkedListQueue的压力测试和性能测试
+ * 压力测试：多个生产者同时入队带有(生产者编号, 序号)的元素，多个消费者同时出队，检查
+ * 1、每个元素恰好被取出一次，没有丢失也没有重复
+ * 2、每个消费者看到的同一生产者的元素序号严格递增，符合FIFO队列的线性一致性
+ * 性能测试：1-64个线程，每个线程交替入队出队，与加锁的LinkedListQueue对比
+ */
+public class TestConcurrentLinkedListQueue {
+
+    private static final int STRESS_PRODUCERS = 8;
+    private static final int STRESS_CONSUMERS = 8;
+    private static final int PER_PRODUCER = 200000;
+    private static final int BENCH_OPS = 4000000;
+
+    public static void main(String[] args) throws InterruptedException {
+        System.out.println("Stress test: " + (stress() ? "passed" : "FAILED"));
+
+        for (int threads = 1; threads <= 64; threads *= 2) {
+            ConcurrentLinkedListQueue<Integer> lockFree = new ConcurrentLinkedListQueue<>();
+            double lockFreeTime = bench(threads, lockFree::enqueue, lockFree::poll);
+
+            LinkedListQueue<Integer> locked = new LinkedListQueue<>();
+            double lockedTime = bench(threads, e -> {
+                synchronized (locked) {
+                    locked.enqueue(e);
+                }
+            }, () -> {
+                synchronized (locked) {
+                    return locked.isEmpty() ? null : locked.dequeue();
+                }
+            });
+            System.out.println(threads + " threads: ConcurrentLinkedListQueue " + lockFreeTime
+                    + " s, synchronized LinkedListQueue " + lockedTime + " s");
+        }
+    }
+
+    private static boolean stress() throws InterruptedException {
+        ConcurrentLinkedListQueue<Long> queue = new ConcurrentLinkedListQueue<>();
+        int total = STRESS_PRODUCERS * PER_PRODUCER;
+        AtomicInteger[] seen = new AtomicInteger[total];
+        for (int i = 0; i < total; i++) {
+            seen[i] = new AtomicInteger();
+        }
+        AtomicInteger consumed = new AtomicInteger();
+        AtomicInteger orderViolations = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+
+        Thread[] threads = new Thread[STRESS_PRODUCERS + STRESS_CONSUMERS];
+        for (int p = 0; p < STRESS_PRODUCERS; p++) {
+            final long producer = p;
+            threads[p] = new Thread(() -> {
+                await(start);
+                for (long seq = 0; seq < PER_PRODUCER; seq++) {
+                    queue.enqueue(producer << 32 | seq);
+                }
+            });
+        }
+        for (int c = 0; c < STRESS_CONSUMERS; c++) {
+            threads[STRESS_PRODUCERS + c] = new Thread(() -> {
+                await(start);
+                long[] last = new long[STRESS_PRODUCERS];
+                Arrays.fill(last, -1);
+                while (consumed.get() < total) {
+                    Long e = queue.poll();
+                    if (e == null) {
+                        Thread.yield();
+                        continue;
+                    }
+                    int producer = (int) (e >>> 32);
+                    int seq = (int) (long) e;
+                    if (seq <= last[producer]) {
+                        orderViolations.incrementAndGet();
+                    }
+                    last[producer] = seq;
+                    seen[producer * PER_PRODUCER + seq].incrementAndGet();
+                    consumed.incrementAndGet();
+                }
+            });
+        }
+
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        boolean passed = orderViolations.get() == 0 && queue.isEmpty() && queue.poll() == null;
+        for (int i = 0; i < total; i++) {
+            if (seen[i].get() != 1) {
+                passed = false;
+            }
+        }
+        System.out.println("consumed: " + consumed.get() + "/" + total + ", order violations: " + orderViolations.get());
+        return passed;
+    }
+
+    private static double bench(int threads, Consumer<Integer> enqueue, Supplier<Integer> poll) throws InterruptedException {
+        final int perThread = BENCH_OPS / threads;
+        Integer value = 1;
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] workers = new Thread[threads];
+        for (int i = 0; i < threads; i++) {
+            workers[i] = new Thread(() -> {
+                await(start);
+                for (int j = 0; j < perThread; j++) {
+                    enqueue.accept(value);
+                    poll.get();
+                }
+            });
+            workers[i].start();
+        }
+        long startTime = System.nanoTime();
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        long endTime = System.nanoTime();
+        return (endTime - startTime) / 1000000000.0;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
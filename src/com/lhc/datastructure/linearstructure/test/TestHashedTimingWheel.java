@@ -0,0 +1,148 @@
+package com.lhc.datastructure.linearstructure.test;
+
+import com.lhc.datastructure.linearstructure.HashedTimingWheel;
+
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * HashedTimingWheel与基于堆(PriorityQueue)的定时器的性能对比
+ * 1、单线程：同时挂起1000万个定时器，取消其中一半，再推进时间让剩下的全部触发
+ * 2、多线程：多个线程同时提交定时器，驱动线程同时推进时间，检查所有定时器都被触发
+ * 建议使用-Xmx4g运行
+ */
+public class TestHashedTimingWheel {
+
+    private static final int N = 10000000;
+    private static final int MAX_DELAY = 1 << 20;
+    private static final int PRODUCERS = 4;
+
+    public static void main(String[] args) throws InterruptedException {
+        testWheel();
+        System.gc();
+        testHeap();
+        System.gc();
+        testConcurrentSubmission();
+    }
+
+    private static void testWheel() {
+        AtomicLong fired = new AtomicLong();
+        Runnable task = fired::incrementAndGet;
+        HashedTimingWheel wheel = new HashedTimingWheel();
+        HashedTimingWheel.Timeout[] timeouts = new HashedTimingWheel.Timeout[N];
+        Random random = new Random(0);
+
+        long startTime = System.nanoTime();
+        for (int i = 0; i < N; i++) {
+            timeouts[i] = wheel.schedule(task, 1 + random.nextInt(MAX_DELAY));
+        }
+        long endTime = System.nanoTime();
+        System.out.println("HashedTimingWheel schedule: " + (endTime - startTime) / 1000000000.0 + " s");
+
+        startTime = System.nanoTime();
+        for (int i = 0; i < N; i += 2) {
+            timeouts[i].cancel();
+        }
+        endTime = System.nanoTime();
+        System.out.println("HashedTimingWheel cancel: " + (endTime - startTime) / 1000000000.0 + " s");
+        timeouts = null;
+
+        startTime = System.nanoTime();
+        wheel.advanceTo(MAX_DELAY + 1);
+        endTime = System.nanoTime();
+        System.out.println("HashedTimingWheel expire: " + (endTime - startTime) / 1000000000.0 + " s, fired = "
+                + fired.get());
+    }
+
+    private static class HeapTimer implements Comparable<HeapTimer> {
+        final long deadline;
+        final Runnable task;
+        boolean cancelled;
+
+        HeapTimer(long deadline, Runnable task) {
+            this.deadline = deadline;
+            this.task = task;
+        }
+
+        @Override
+        public int compareTo(HeapTimer another) {
+            return Long.compare(deadline, another.deadline);
+        }
+    }
+
+    /**
+     * 堆不支持O(1)取消，这里只打上取消标记，出堆时跳过
+     */
+    private static void testHeap() {
+        AtomicLong fired = new AtomicLong();
+        Runnable task = fired::incrementAndGet;
+        PriorityQueue<HeapTimer> heap = new PriorityQueue<>();
+        HeapTimer[] timers = new HeapTimer[N];
+        Random random = new Random(0);
+
+        long startTime = System.nanoTime();
+        for (int i = 0; i < N; i++) {
+            timers[i] = new HeapTimer(1 + random.nextInt(MAX_DELAY), task);
+            heap.add(timers[i]);
+        }
+        long endTime = System.nanoTime();
+        System.out.println("PriorityQueue schedule: " + (endTime - startTime) / 1000000000.0 + " s");
+
+        for (int i = 0; i < N; i += 2) {
+            timers[i].cancelled = true;
+        }
+        timers = null;
+
+        startTime = System.nanoTime();
+        for (long tick = 1; tick <= MAX_DELAY; tick++) {
+            while (!heap.isEmpty() && heap.peek().deadline <= tick) {
+                HeapTimer timer = heap.poll();
+                if (!timer.cancelled) {
+                    timer.task.run();
+                }
+            }
+        }
+        endTime = System.nanoTime();
+        System.out.println("PriorityQueue expire: " + (endTime - startTime) / 1000000000.0 + " s, fired = "
+                + fired.get());
+    }
+
+    private static void testConcurrentSubmission() throws InterruptedException {
+        AtomicLong fired = new AtomicLong();
+        Runnable task = fired::incrementAndGet;
+        HashedTimingWheel wheel = new HashedTimingWheel();
+        final int perProducer = N / PRODUCERS;
+
+        Thread[] producers = new Thread[PRODUCERS];
+        for (int p = 0; p < PRODUCERS; p++) {
+            final int seed = p;
+            producers[p] = new Thread(() -> {
+                Random random = new Random(seed);
+                for (int i = 0; i < perProducer; i++) {
+                    wheel.schedule(task, 1 + random.nextInt(1 << 12));
+                }
+            });
+        }
+
+        long startTime = System.nanoTime();
+        for (Thread producer : producers) {
+            producer.start();
+        }
+        //驱动线程在提交的同时推进时间
+        boolean running = true;
+        while (running) {
+            wheel.tick();
+            running = false;
+            for (Thread producer : producers) {
+                if (producer.isAlive()) {
+                    running = true;
+                }
+            }
+        }
+        wheel.advanceTo(wheel.getCurrentTick() + (1 << 12) + 1);
+        long endTime = System.nanoTime();
+        System.out.println(PRODUCERS + " producers: " + (endTime - startTime) / 1000000000.0 + " s, fired = "
+                + fired.get() + "/" + (long) perProducer * PRODUCERS);
+    }
+}
@@ -0,0 +1,50 @@
+package com.lhc.datastructure.linearstructure.test;
+
+import com.lhc.datastructure.linearstructure.IndexableSkipList;
+import com.lhc.datastructure.linearstructure.LinkedList;
+
+import java.util.Random;
+
+/**
+ * 测试LinkedList和IndexableSkipList在百万级元素上按索引增删查的单次平均耗时
+ */
+public class TestIndexableSkipList {
+
+    private static final int N = 1000000;
+    private static final int OPS = 2000;
+
+    public static void main(String[] args) {
+        Integer value = 1;
+
+        LinkedList<Integer> linkedList = new LinkedList<>();
+        IndexableSkipList<Integer> skipList = new IndexableSkipList<>();
+        for (int i = 0; i < N; i++) {
+            linkedList.addLast(value);
+            skipList.addLast(value);
+        }
+
+        //Test LinkedList
+        Random random = new Random(42);
+        long startTime = System.nanoTime();
+        for (int i = 0; i < OPS; i++) {
+            int index = random.nextInt(N);
+            linkedList.add(index, value);
+            linkedList.get(index);
+            linkedList.remove(index);
+        }
+        long endTime = System.nanoTime();
+        System.out.println("LinkedList: " + (endTime - startTime) / 1000.0 / OPS + " us/op");
+
+        //Test IndexableSkipList
+        random = new Random(42);
+        startTime = System.nanoTime();
+        for (int i = 0; i < OPS; i++) {
+            int index = random.nextInt(N);
+            skipList.add(index, value);
+            skipList.get(index);
+            skipList.remove(index);
+        }
+        endTime = System.nanoTime();
+        System.out.println("IndexableSkipList: " + (endTime - startTime) / 1000.0 / OPS + " us/op");
+    }
+}
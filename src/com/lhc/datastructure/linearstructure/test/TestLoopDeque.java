@@ -0,0 +1,69 @@
+package com.lhc.datastructure.linearstructure.test;
+
+import com.lhc.datastructure.linearstructure.Array;
+import com.lhc.datastructure.linearstructure.ArrayStack;
+import com.lhc.datastructure.linearstructure.LinkedListStack;
+import com.lhc.datastructure.linearstructure.LoopDeque;
+import com.lhc.datastructure.linearstructure.LoopQueue;
+import com.lhc.datastructure.linearstructure.Queue;
+import com.lhc.datastructure.linearstructure.Stack;
+
+/**
+ * 测试LoopDeque作为栈、队列以及在头部插入时的性能
+ */
+public class TestLoopDeque {
+
+    private static final int N = 5000000;
+    private static final int ADD_FIRST_N = 100000;
+
+    public static void main(String[] args) {
+        System.out.println("ArrayStack: " + testStack(new ArrayStack<>(), N) + " s");
+        System.out.println("LinkedListStack: " + testStack(new LinkedListStack<>(), N) + " s");
+        System.out.println("LoopDeque as Stack: " + testStack(new LoopDeque<>(), N) + " s");
+
+        System.out.println("LoopQueue: " + testQueue(new LoopQueue<>(), N) + " s");
+        System.out.println("LoopDeque as Queue: " + testQueue(new LoopDeque<>(), N) + " s");
+
+        long startTime = System.nanoTime();
+        Array<Integer> array = new Array<>();
+        for (int i = 0; i < ADD_FIRST_N; i++) {
+            array.addFirst(i);
+        }
+        long endTime = System.nanoTime();
+        System.out.println("Array.addFirst: " + (endTime - startTime) / 1000000000.0 + " s");
+
+        startTime = System.nanoTime();
+        LoopDeque<Integer> deque = new LoopDeque<>();
+        for (int i = 0; i < ADD_FIRST_N; i++) {
+            deque.addFirst(i);
+        }
+        endTime = System.nanoTime();
+        System.out.println("LoopDeque.addFirst: " + (endTime - startTime) / 1000000000.0 + " s");
+    }
+
+    private static double testStack(Stack<Integer> stack, int opCount) {
+        long startTime = System.nanoTime();
+        Integer value = 1;
+        for (int i = 0; i < opCount; i++) {
+            stack.push(value);
+        }
+        for (int i = 0; i < opCount; i++) {
+            stack.pop();
+        }
+        long endTime = System.nanoTime();
+        return (endTime - startTime) / 1000000000.0;
+    }
+
+    private static double testQueue(Queue<Integer> queue, int opCount) {
+        long startTime = System.nanoTime();
+        Integer value = 1;
+        for (int i = 0; i < opCount; i++) {
+            queue.enqueue(value);
+        }
+        for (int i = 0; i < opCount; i++) {
+            queue.dequeue();
+        }
+        long endTime = System.nanoTime();
+        return (endTime - startTime) / 1000000000.0;
+    }
+}
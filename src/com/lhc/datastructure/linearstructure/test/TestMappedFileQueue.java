@@ -0,0 +1,117 @@
+package com.lhc.datastructure.linearstructure.test;
+
+import com.lhc.datastructure.linearstructure.MappedFileQueue;
+import com.lhc.datastructure.linearstructure.Serializer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * MappedFileQueue在写入失败、崩溃之后重新打开的测试
+ * 1、Serializer.write写了一半后抛出异常，之后写入一条更短的记录，重新打开后只能看到完整的记录
+ * 2、模拟进程在写完记录内容、写入长度之前崩溃：直接在段文件的tail之后写入看起来像长度的字节，
+ * 重新打开后写入一条更短的记录，再重新打开，扫描必须停在这条记录之后
+ */
+public class TestMappedFileQueue {
+
+    private static final int SEGMENT_SIZE = 4096;
+    private static final int GARBAGE_LENGTH = 8;
+
+    /**
+     * 写入若干字节后抛出异常的Serializer
+     */
+    private static final Serializer<String> FAILING = new Serializer<String>() {
+        @Override
+        public int sizeOf(String e) {
+            return 256;
+        }
+
+        @Override
+        public void write(String e, ByteBuffer buffer) {
+            while (buffer.remaining() >= Integer.BYTES * 2) {
+                buffer.putInt(GARBAGE_LENGTH);
+            }
+            throw new IllegalStateException("write failed");
+        }
+
+        @Override
+        public String read(ByteBuffer buffer) {
+            throw new UnsupportedOperationException();
+        }
+    };
+
+    public static void main(String[] args) throws IOException {
+        System.out.println("Failed write: " + (failedWrite() ? "passed" : "FAILED"));
+        System.out.println("Crash before length: " + (crashBeforeLength() ? "passed" : "FAILED"));
+    }
+
+    private static boolean failedWrite() throws IOException {
+        Path dir = Files.createTempDirectory("mapped-file-queue");
+        try (MappedFileQueue<String> queue = new MappedFileQueue<>(dir, Serializer.STRING, SEGMENT_SIZE)) {
+            queue.enqueue("first");
+        }
+        //借用同一个目录，用会失败的Serializer写入一条长记录
+        try (MappedFileQueue<String> queue = new MappedFileQueue<>(dir, FAILING, SEGMENT_SIZE)) {
+            try {
+                queue.enqueue("long");
+                return false;
+            } catch (IllegalStateException expected) {
+                //写入失败，记录没有发布
+            }
+            if (queue.getSize() != 1) {
+                return false;
+            }
+        }
+        try (MappedFileQueue<String> queue = new MappedFileQueue<>(dir, Serializer.STRING, SEGMENT_SIZE)) {
+            queue.enqueue("abcd");
+        }
+        return check(dir, "first", "abcd");
+    }
+
+    private static boolean crashBeforeLength() throws IOException {
+        Path dir = Files.createTempDirectory("mapped-file-queue");
+        try (MappedFileQueue<String> queue = new MappedFileQueue<>(dir, Serializer.STRING, SEGMENT_SIZE)) {
+            queue.enqueue("first");
+        }
+        //tail在第一条记录之后，长度位置保持为0，后面写入一段崩溃残留的内容
+        int tail = Integer.BYTES + "first".length();
+        try (FileChannel channel = FileChannel.open(dir.resolve(String.format("%020d.seg", 0)),
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer garbage = ByteBuffer.allocate(256);
+            while (garbage.hasRemaining()) {
+                garbage.putInt(GARBAGE_LENGTH);
+            }
+            garbage.flip();
+            channel.write(garbage, tail + Integer.BYTES);
+        }
+        try (MappedFileQueue<String> queue = new MappedFileQueue<>(dir, Serializer.STRING, SEGMENT_SIZE)) {
+            if (queue.getSize() != 1) {
+                return false;
+            }
+            queue.enqueue("abcd");
+        }
+        return check(dir, "first", "abcd");
+    }
+
+    /**
+     * 重新打开队列，检查其中恰好是expected中的记录
+     */
+    private static boolean check(Path dir, String... expected) throws IOException {
+        try (MappedFileQueue<String> queue = new MappedFileQueue<>(dir, Serializer.STRING, SEGMENT_SIZE)) {
+            if (queue.getSize() != expected.length) {
+                System.out.println("size = " + queue.getSize() + ", expected " + expected.length);
+                return false;
+            }
+            for (String e : expected) {
+                if (!e.equals(queue.dequeue())) {
+                    return false;
+                }
+            }
+            return queue.isEmpty();
+        }
+    }
+}
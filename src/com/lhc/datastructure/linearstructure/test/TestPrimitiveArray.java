@@ -0,0 +1,58 @@
+package com.lhc.datastructure.linearstructure.test;
+
+import com.lhc.datastructure.linearstructure.Array;
+import com.lhc.datastructure.linearstructure.IntArray;
+
+/**
+ * 测试Array<Integer>和IntArray的性能及内存占用
+ */
+public class TestPrimitiveArray {
+
+    private static final int N = 5000000;
+
+    public static void main(String[] args) {
+        long startTime = 0;
+        long endTime = 0;
+        long sum = 0;
+
+        //Test Array<Integer>
+        long before = usedMemory();
+        startTime = System.nanoTime();
+        Array<Integer> array = new Array<>();
+        for (int i = 0; i < N; i++) {
+            array.addLast(i);
+        }
+        for (int i = 0; i < N; i++) {
+            sum += array.get(i);
+        }
+        endTime = System.nanoTime();
+        long after = usedMemory();
+        System.out.println("Array<Integer>: " + (endTime - startTime) / 1000000000.0 + " s");
+        System.out.println("Array<Integer>: " + (after - before) / N + " bytes/element");
+        array = null;
+
+        //Test IntArray
+        before = usedMemory();
+        startTime = System.nanoTime();
+        IntArray intArray = new IntArray();
+        for (int i = 0; i < N; i++) {
+            intArray.addLast(i);
+        }
+        for (int i = 0; i < N; i++) {
+            sum -= intArray.get(i);
+        }
+        endTime = System.nanoTime();
+        after = usedMemory();
+        System.out.println("IntArray: " + (endTime - startTime) / 1000000000.0 + " s");
+        System.out.println("IntArray: " + (after - before) / N + " bytes/element");
+        System.out.println("checksum: " + sum + ", size: " + intArray.getSize());
+    }
+
+    private static long usedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,131 @@
+package com.lhc.datastructure.linearstructure.test;
+
+import com.lhc.datastructure.linearstructure.ArrayStack;
+import com.lhc.datastructure.linearstructure.EliminationBackoffStack;
+import com.lhc.datastructure.linearstructure.TreiberStack;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * TreiberStack和EliminationBackoffStack的压力测试和性能测试
+ * 压力测试：多个线程同时入栈不重复的元素，同时出栈，检查每个元素恰好被取出一次
+ * 性能测试：1-64个线程，每个线程交替入栈出栈(对象池借出归还的典型模式)，与加锁的ArrayStack对比
+ */
+public class TestTreiberStack {
+
+    private static final int STRESS_THREADS = 8;
+    private static final int PER_THREAD = 200000;
+    private static final int BENCH_OPS = 4000000;
+
+    public static void main(String[] args) throws InterruptedException {
+        System.out.println("TreiberStack stress test: " + (stress(new TreiberStack<>()) ? "passed" : "FAILED"));
+        System.out.println("EliminationBackoffStack stress test: "
+                + (stress(new EliminationBackoffStack<>(4, 128)) ? "passed" : "FAILED"));
+
+        for (int threads = 1; threads <= 64; threads *= 2) {
+            TreiberStack<Integer> treiber = new TreiberStack<>();
+            double treiberTime = bench(threads, treiber::push, treiber::poll);
+
+            EliminationBackoffStack<Integer> elimination = new EliminationBackoffStack<>(Math.max(1, threads / 2), 128);
+            double eliminationTime = bench(threads, elimination::push, elimination::poll);
+
+            ArrayStack<Integer> locked = new ArrayStack<>();
+            double lockedTime = bench(threads, e -> {
+                synchronized (locked) {
+                    locked.push(e);
+                }
+            }, () -> {
+                synchronized (locked) {
+                    return locked.isEmpty() ? null : locked.pop();
+                }
+            });
+            System.out.println(threads + " threads: TreiberStack " + treiberTime + " s, EliminationBackoffStack "
+                    + eliminationTime + " s, synchronized ArrayStack " + lockedTime + " s");
+        }
+    }
+
+    private static boolean stress(TreiberStack<Integer> stack) throws InterruptedException {
+        int total = STRESS_THREADS * PER_THREAD;
+        AtomicInteger[] seen = new AtomicInteger[total];
+        for (int i = 0; i < total; i++) {
+            seen[i] = new AtomicInteger();
+        }
+        AtomicInteger popped = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+
+        Thread[] threads = new Thread[STRESS_THREADS];
+        for (int t = 0; t < STRESS_THREADS; t++) {
+            final int base = t * PER_THREAD;
+            threads[t] = new Thread(() -> {
+                await(start);
+                for (int i = 0; i < PER_THREAD; i++) {
+                    stack.push(base + i);
+                    //每入栈两个出栈一个，栈里始终有元素，出栈时也会和入栈竞争
+                    if ((i & 1) == 1) {
+                        Integer e = stack.poll();
+                        if (e != null) {
+                            seen[e].incrementAndGet();
+                            popped.incrementAndGet();
+                        }
+                    }
+                }
+            });
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        Integer e;
+        while ((e = stack.poll()) != null) {
+            seen[e].incrementAndGet();
+            popped.incrementAndGet();
+        }
+
+        boolean passed = stack.isEmpty();
+        for (int i = 0; i < total; i++) {
+            if (seen[i].get() != 1) {
+                passed = false;
+            }
+        }
+        System.out.println("popped: " + popped.get() + "/" + total);
+        return passed;
+    }
+
+    private static double bench(int threads, Consumer<Integer> push, Supplier<Integer> poll) throws InterruptedException {
+        final int perThread = BENCH_OPS / threads;
+        Integer value = 1;
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] workers = new Thread[threads];
+        for (int i = 0; i < threads; i++) {
+            workers[i] = new Thread(() -> {
+                await(start);
+                for (int j = 0; j < perThread; j++) {
+                    push.accept(value);
+                    poll.get();
+                }
+            });
+            workers[i].start();
+        }
+        long startTime = System.nanoTime();
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        long endTime = System.nanoTime();
+        return (endTime - startTime) / 1000000000.0;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.lhc.datastructure.linearstructure.test;
+
+import com.lhc.datastructure.linearstructure.LinkedList;
+import com.lhc.datastructure.linearstructure.UnrolledLinkedList;
+
+/**
+ * 测试LinkedList和UnrolledLinkedList的顺序遍历性能及内存占用
+ */
+public class TestUnrolledLinkedList {
+
+    private static final int N = 5000000;
+    private static final int ROUNDS = 10;
+
+    public static void main(String[] args) {
+        Integer[] values = new Integer[N];
+        for (int i = 0; i < N; i++) {
+            values[i] = i;
+        }
+
+        long startTime = 0;
+        long endTime = 0;
+        long sum = 0;
+
+        //Test LinkedList
+        long before = usedMemory();
+        LinkedList<Integer> linkedList = new LinkedList<>();
+        for (int i = 0; i < N; i++) {
+            linkedList.addLast(values[i]);
+        }
+        long after = usedMemory();
+        startTime = System.nanoTime();
+        for (int r = 0; r < ROUNDS; r++) {
+            for (Integer v : linkedList) {
+                sum += v;
+            }
+        }
+        endTime = System.nanoTime();
+        System.out.println("LinkedList: scan " + (endTime - startTime) / 1000000000.0 + " s, "
+                + (after - before) / N + " bytes/element");
+        linkedList = null;
+
+        //Test UnrolledLinkedList
+        before = usedMemory();
+        UnrolledLinkedList<Integer> unrolled = new UnrolledLinkedList<>();
+        for (int i = 0; i < N; i++) {
+            unrolled.addLast(values[i]);
+        }
+        after = usedMemory();
+        startTime = System.nanoTime();
+        for (int r = 0; r < ROUNDS; r++) {
+            for (Integer v : unrolled) {
+                sum -= v;
+            }
+        }
+        endTime = System.nanoTime();
+        System.out.println("UnrolledLinkedList: scan " + (endTime - startTime) / 1000000000.0 + " s, "
+                + (after - before) / N + " bytes/element");
+        System.out.println("checksum: " + sum + ", size: " + unrolled.getSize());
+    }
+
+    private static long usedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
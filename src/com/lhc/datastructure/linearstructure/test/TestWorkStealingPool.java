@@ -0,0 +1,254 @@
+package com.lhc.datastructure.linearstructure.test;
+
+import com.lhc.datastructure.linearstructure.WorkStealingDeque;
+import com.lhc.datastructure.linearstructure.WorkStealingPool;
+
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * WorkStealingDeque的压力测试，以及WorkStealingPool与ForkJoinPool的性能对比
+ * 压力测试：所有者线程随机push/pop，多个窃取者同时steal，检查每个元素恰好被取出一次
+ * 性能测试：递归计算斐波那契数(大量很小的任务)和递归求数组区间和(类似线段树的二分递归)
+ */
+public class TestWorkStealingPool {
+
+    private static final int STRESS_THIEVES = 4;
+    private static final int STRESS_N = 2000000;
+    private static final int FIB_N = 32;
+    private static final int FIB_THRESHOLD = 12;
+    private static final int SUM_N = 20000000;
+    private static final int SUM_THRESHOLD = 4096;
+    private static final int ROUNDS = 5;
+
+    public static void main(String[] args) throws InterruptedException {
+        System.out.println("Stress test: " + (stress() ? "passed" : "FAILED"));
+
+        int[] data = new int[SUM_N];
+        Random random = new Random(0);
+        for (int i = 0; i < SUM_N; i++) {
+            data[i] = random.nextInt(100);
+        }
+
+        int processors = Runtime.getRuntime().availableProcessors();
+        for (int parallelism = 1; parallelism <= Math.max(4, processors); parallelism *= 2) {
+            try (WorkStealingPool pool = new WorkStealingPool(parallelism)) {
+                ForkJoinPool forkJoinPool = new ForkJoinPool(parallelism);
+                double[] fib = new double[2];
+                double[] sum = new double[2];
+                long fibResult = 0;
+                long sumResult = 0;
+                for (int round = 0; round < ROUNDS; round++) {
+                    long startTime = System.nanoTime();
+                    fibResult = pool.invoke(new Fib(FIB_N));
+                    long endTime = System.nanoTime();
+                    fib[0] = (endTime - startTime) / 1000000000.0;
+
+                    startTime = System.nanoTime();
+                    long fjFib = forkJoinPool.invoke(new FjFib(FIB_N));
+                    endTime = System.nanoTime();
+                    fib[1] = (endTime - startTime) / 1000000000.0;
+
+                    startTime = System.nanoTime();
+                    sumResult = pool.invoke(new Sum(data, 0, SUM_N));
+                    endTime = System.nanoTime();
+                    sum[0] = (endTime - startTime) / 1000000000.0;
+
+                    startTime = System.nanoTime();
+                    long fjSum = forkJoinPool.invoke(new FjSum(data, 0, SUM_N));
+                    endTime = System.nanoTime();
+                    sum[1] = (endTime - startTime) / 1000000000.0;
+
+                    if (fibResult != fjFib || sumResult != fjSum) {
+                        System.out.println("Result mismatch!");
+                    }
+                }
+                forkJoinPool.shutdown();
+                System.out.println(parallelism + " threads: fib(" + FIB_N + ") = " + fibResult
+                        + " WorkStealingPool " + fib[0] + " s, ForkJoinPool " + fib[1] + " s");
+                System.out.println(parallelism + " threads: sum = " + sumResult
+                        + " WorkStealingPool " + sum[0] + " s, ForkJoinPool " + sum[1] + " s");
+            }
+        }
+    }
+
+    private static boolean stress() throws InterruptedException {
+        WorkStealingDeque<Integer> deque = new WorkStealingDeque<>();
+        AtomicInteger[] seen = new AtomicInteger[STRESS_N];
+        for (int i = 0; i < STRESS_N; i++) {
+            seen[i] = new AtomicInteger();
+        }
+        AtomicLong taken = new AtomicLong();
+        CountDownLatch start = new CountDownLatch(1);
+
+        Thread owner = new Thread(() -> {
+            await(start);
+            Random random = new Random(1);
+            int next = 0;
+            while (next < STRESS_N) {
+                //push比pop多，队列会反复扩容
+                if (random.nextInt(3) != 0) {
+                    deque.push(next++);
+                } else {
+                    Integer e = deque.pop();
+                    if (e != null) {
+                        seen[e].incrementAndGet();
+                        taken.incrementAndGet();
+                    }
+                }
+            }
+            Integer e;
+            while ((e = deque.pop()) != null) {
+                seen[e].incrementAndGet();
+                taken.incrementAndGet();
+            }
+        });
+        Thread[] thieves = new Thread[STRESS_THIEVES];
+        for (int i = 0; i < STRESS_THIEVES; i++) {
+            thieves[i] = new Thread(() -> {
+                await(start);
+                while (taken.get() < STRESS_N) {
+                    Integer e = deque.steal();
+                    if (e == null) {
+                        Thread.yield();
+                        continue;
+                    }
+                    seen[e].incrementAndGet();
+                    taken.incrementAndGet();
+                }
+            });
+        }
+
+        owner.start();
+        for (Thread thief : thieves) {
+            thief.start();
+        }
+        start.countDown();
+        owner.join();
+        for (Thread thief : thieves) {
+            thief.join();
+        }
+
+        boolean passed = deque.isEmpty();
+        for (int i = 0; i < STRESS_N; i++) {
+            if (seen[i].get() != 1) {
+                passed = false;
+            }
+        }
+        System.out.println("taken: " + taken.get() + "/" + STRESS_N + ", capacity: " + deque.getCapacity());
+        return passed;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static long fib(int n) {
+        return n <= 1 ? n : fib(n - 1) + fib(n - 2);
+    }
+
+    private static long sum(int[] data, int l, int r) {
+        long res = 0;
+        for (int i = l; i < r; i++) {
+            res += data[i];
+        }
+        return res;
+    }
+
+    private static class Fib extends WorkStealingPool.Task<Long> {
+        private final int n;
+
+        Fib(int n) {
+            this.n = n;
+        }
+
+        @Override
+        protected Long compute() {
+            if (n <= FIB_THRESHOLD) {
+                return fib(n);
+            }
+            Fib f1 = new Fib(n - 1);
+            f1.fork();
+            Fib f2 = new Fib(n - 2);
+            return f2.compute() + f1.join();
+        }
+    }
+
+    private static class FjFib extends RecursiveTask<Long> {
+        private static final long serialVersionUID = 1L;
+        private final int n;
+
+        FjFib(int n) {
+            this.n = n;
+        }
+
+        @Override
+        protected Long compute() {
+            if (n <= FIB_THRESHOLD) {
+                return fib(n);
+            }
+            FjFib f1 = new FjFib(n - 1);
+            f1.fork();
+            FjFib f2 = new FjFib(n - 2);
+            return f2.compute() + f1.join();
+        }
+    }
+
+    /**
+     * 求[l, r)区间和
+     */
+    private static class Sum extends WorkStealingPool.Task<Long> {
+        private final int[] data;
+        private final int l;
+        private final int r;
+
+        Sum(int[] data, int l, int r) {
+            this.data = data;
+            this.l = l;
+            this.r = r;
+        }
+
+        @Override
+        protected Long compute() {
+            if (r - l <= SUM_THRESHOLD) {
+                return sum(data, l, r);
+            }
+            int mid = l + (r - l) / 2;
+            Sum left = new Sum(data, l, mid);
+            left.fork();
+            return new Sum(data, mid, r).compute() + left.join();
+        }
+    }
+
+    private static class FjSum extends RecursiveTask<Long> {
+        private static final long serialVersionUID = 1L;
+        private final int[] data;
+        private final int l;
+        private final int r;
+
+        FjSum(int[] data, int l, int r) {
+            this.data = data;
+            this.l = l;
+            this.r = r;
+        }
+
+        @Override
+        protected Long compute() {
+            if (r - l <= SUM_THRESHOLD) {
+                return sum(data, l, r);
+            }
+            int mid = l + (r - l) / 2;
+            FjSum left = new FjSum(data, l, mid);
+            left.fork();
+            return new FjSum(data, mid, r).compute() + left.join();
+        }
+    }
+}
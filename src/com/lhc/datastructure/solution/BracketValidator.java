@@ -0,0 +1,238 @@
+package com.lhc.datastructure.solution;
+
+import com.lhc.datastructure.linearstructure.CharStack;
+import com.lhc.datastructure.utils.BufferUtils;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * 大文本的括号匹配检查
+ * 与StackSolution.isValid不同，只检查()[]{}三种括号，其他字符全部忽略，适用于配置文件、JSON等文本
+ * 所有方法都使用CharStack，不会对字符装箱
+ * <p>
+ * 并行检查：把输入切成若干块，每块独立扫描，块内匹配掉的括号直接消去，
+ * 剩下的一定是"若干个无法匹配的右括号 + 若干个无法匹配的左括号"，记为一个Summary
+ * 相邻两块的Summary合并时，用右块开头的右括号去匹配左块末尾的左括号，合并满足结合律，
+ * 因此可以像归并排序一样两两合并，整个输入合法当且仅当最终的Summary为空且没有出现过错配
+ * <p>
+ * 文件按字节扫描，括号都是ASCII字符，UTF-8多字节字符的每个字节都大于0x7F，不会被误判
+ */
+public class BracketValidator {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final long MAP_SIZE = 1L << 30;
+    private static final int PARALLEL_THRESHOLD = 1 << 24;
+
+    /**
+     * 一段输入扫描后剩下的无法匹配的括号
+     */
+    static final class Summary {
+        /**
+         * 无法匹配的右括号，按出现顺序
+         */
+        private final CharStack closers = new CharStack();
+        /**
+         * 无法匹配的左括号，栈顶是最后出现的
+         */
+        private final CharStack openers = new CharStack();
+        private boolean mismatch;
+
+        void accept(char c) {
+            switch (c) {
+                case '(':
+                case '[':
+                case '{':
+                    openers.push(c);
+                    break;
+                case ')':
+                case ']':
+                case '}':
+                    if (openers.isEmpty()) {
+                        closers.push(c);
+                    } else if (openers.pop() != opening(c)) {
+                        mismatch = true;
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        /**
+         * 从左边开始扫描时，出现错配或者无法匹配的右括号后整个输入就不可能合法了
+         */
+        boolean isBroken() {
+            return mismatch || !closers.isEmpty();
+        }
+
+        boolean isValid() {
+            return !isBroken() && openers.isEmpty();
+        }
+
+        /**
+         * 把紧跟在后面的一段合并进来
+         */
+        Summary combine(Summary right) {
+            mismatch |= right.mismatch;
+            int n = right.closers.getSize();
+            int k = 0;
+            for (; k < n && !openers.isEmpty(); k++) {
+                if (openers.pop() != opening(right.closers.get(k))) {
+                    mismatch = true;
+                }
+            }
+            for (; k < n; k++) {
+                closers.push(right.closers.get(k));
+            }
+            for (int i = 0; i < right.openers.getSize(); i++) {
+                openers.push(right.openers.get(i));
+            }
+            return this;
+        }
+    }
+
+    private static char opening(char c) {
+        return c == ')' ? '(' : c == ']' ? '[' : '{';
+    }
+
+    public static boolean isValid(CharSequence s) {
+        Summary summary = new Summary();
+        for (int i = 0; i < s.length(); i++) {
+            summary.accept(s.charAt(i));
+            if (summary.isBroken()) {
+                return false;
+            }
+        }
+        return summary.isValid();
+    }
+
+    /**
+     * 流式检查，每次读入一个缓冲区，内存占用只和括号的嵌套深度有关
+     */
+    public static boolean isValid(Reader reader) throws IOException {
+        Summary summary = new Summary();
+        char[] buffer = new char[BUFFER_SIZE];
+        int n;
+        while ((n = reader.read(buffer)) != -1) {
+            for (int i = 0; i < n; i++) {
+                summary.accept(buffer[i]);
+            }
+            if (summary.isBroken()) {
+                return false;
+            }
+        }
+        return summary.isValid();
+    }
+
+    /**
+     * 通过内存映射顺序扫描文件，每次映射最多1GB
+     */
+    public static boolean isValid(Path file) throws IOException {
+        Summary summary = new Summary();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long length = channel.size();
+            for (long pos = 0; pos < length; pos += MAP_SIZE) {
+                scan(channel, pos, Math.min(MAP_SIZE, length - pos), summary);
+                if (summary.isBroken()) {
+                    return false;
+                }
+            }
+        }
+        return summary.isValid();
+    }
+
+    public static boolean isValidParallel(CharSequence s) {
+        return ForkJoinPool.commonPool().invoke(new CharSequenceTask(s, 0, s.length())).isValid();
+    }
+
+    /**
+     * 把文件切成多块并行扫描，每块单独映射
+     */
+    public static boolean isValidParallel(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return ForkJoinPool.commonPool().invoke(new FileTask(channel, 0, channel.size())).isValid();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static void scan(FileChannel channel, long pos, long length, Summary summary) throws IOException {
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, pos, length);
+        try {
+            int n = (int) length;
+            for (int i = 0; i < n; i++) {
+                summary.accept((char) buffer.get(i));
+            }
+        } finally {
+            BufferUtils.free(buffer);
+        }
+    }
+
+    private static class CharSequenceTask extends RecursiveTask<Summary> {
+        private static final long serialVersionUID = 1L;
+        private final CharSequence s;
+        private final int l;
+        private final int r;
+
+        CharSequenceTask(CharSequence s, int l, int r) {
+            this.s = s;
+            this.l = l;
+            this.r = r;
+        }
+
+        @Override
+        protected Summary compute() {
+            if (r - l <= PARALLEL_THRESHOLD) {
+                Summary summary = new Summary();
+                for (int i = l; i < r; i++) {
+                    summary.accept(s.charAt(i));
+                }
+                return summary;
+            }
+            int mid = l + (r - l) / 2;
+            CharSequenceTask left = new CharSequenceTask(s, l, mid);
+            left.fork();
+            Summary right = new CharSequenceTask(s, mid, r).compute();
+            return left.join().combine(right);
+        }
+    }
+
+    private static class FileTask extends RecursiveTask<Summary> {
+        private static final long serialVersionUID = 1L;
+        private final FileChannel channel;
+        private final long l;
+        private final long r;
+
+        FileTask(FileChannel channel, long l, long r) {
+            this.channel = channel;
+            this.l = l;
+            this.r = r;
+        }
+
+        @Override
+        protected Summary compute() {
+            if (r - l <= PARALLEL_THRESHOLD) {
+                Summary summary = new Summary();
+                try {
+                    scan(channel, l, r - l, summary);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return summary;
+            }
+            long mid = l + (r - l) / 2;
+            FileTask left = new FileTask(channel, l, mid);
+            left.fork();
+            Summary right = new FileTask(channel, mid, r).compute();
+            return left.join().combine(right);
+        }
+    }
+}
@@ -1,13 +1,15 @@
 package com.lhc.datastructure.solution;
 
-import com.lhc.datastructure.linearstructure.ArrayStack;
-
-import java.util.Stack;
+import com.lhc.datastructure.linearstructure.CharStack;
 
 public class StackSolution {
 
+    /**
+     * 使用CharStack，不对字符装箱
+     * 输入只包含括号，检查任意文本中的括号使用BracketValidator
+     */
     public boolean isValid(String s) {
-        ArrayStack<Character> stack = new ArrayStack<>();
+        CharStack stack = new CharStack();
         for (int i = 0; i < s.length(); i++) {
             char c = s.charAt(i);
             if (c == '[' || c == '{' || c == '(') {
@@ -37,5 +39,7 @@ public class StackSolution {
 //        System.out.println(solution.isValid("(()}[]"));
 //        System.out.println(solution.isValid("([{}])"));
         System.out.println(solution.isValid("(){}[]"));
+        //任意文本中的括号，性能测试见TestBracketValidator
+        System.out.println(BracketValidator.isValid("int[] a = {f(x), g(y)};"));
     }
 }
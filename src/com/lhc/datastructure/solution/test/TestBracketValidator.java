@@ -0,0 +1,80 @@
+package com.lhc.datastructure.solution.test;
+
+import com.lhc.datastructure.linearstructure.CharStack;
+import com.lhc.datastructure.solution.BracketValidator;
+import com.lhc.datastructure.solution.StackSolution;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+/**
+ * 比较StackSolution.isValid和BracketValidator各个版本在长字符串和大文件上的性能
+ * 输入是随机生成的N对合法嵌套的括号，最后去掉第一个字符检查非法输入
+ */
+public class TestBracketValidator {
+
+    private static final int N = 50000000;
+
+    public static void main(String[] args) throws IOException {
+        StackSolution solution = new StackSolution();
+        String s = generate(N, new Random(0));
+
+        long startTime = System.nanoTime();
+        boolean valid = solution.isValid(s);
+        long endTime = System.nanoTime();
+        System.out.println("isValid: " + valid + ", " + (endTime - startTime) / 1000000000.0 + " s");
+
+        startTime = System.nanoTime();
+        valid = BracketValidator.isValid(new StringReader(s));
+        endTime = System.nanoTime();
+        System.out.println("BracketValidator.isValid(Reader): " + valid + ", " + (endTime - startTime) / 1000000000.0 + " s");
+
+        startTime = System.nanoTime();
+        valid = BracketValidator.isValidParallel(s);
+        endTime = System.nanoTime();
+        System.out.println("BracketValidator.isValidParallel: " + valid + ", " + (endTime - startTime) / 1000000000.0 + " s");
+
+        Path file = Files.createTempFile("brackets", ".txt");
+        try {
+            Files.write(file, s.getBytes(StandardCharsets.UTF_8));
+            startTime = System.nanoTime();
+            valid = BracketValidator.isValid(file);
+            endTime = System.nanoTime();
+            System.out.println("BracketValidator.isValid(Path): " + valid + ", " + (endTime - startTime) / 1000000000.0 + " s");
+
+            startTime = System.nanoTime();
+            valid = BracketValidator.isValidParallel(file);
+            endTime = System.nanoTime();
+            System.out.println("BracketValidator.isValidParallel(Path): " + valid + ", " + (endTime - startTime) / 1000000000.0 + " s");
+        } finally {
+            Files.delete(file);
+        }
+        System.out.println(BracketValidator.isValidParallel(s.substring(1)));
+    }
+
+    /**
+     * 随机生成n对合法嵌套的括号
+     */
+    private static String generate(int n, Random random) {
+        StringBuilder sb = new StringBuilder(n * 2);
+        CharStack stack = new CharStack();
+        String opening = "([{";
+        String closing = ")]}";
+        int opened = 0;
+        while (opened < n || !stack.isEmpty()) {
+            if (opened < n && (stack.isEmpty() || random.nextBoolean())) {
+                int k = random.nextInt(3);
+                stack.push(closing.charAt(k));
+                sb.append(opening.charAt(k));
+                opened++;
+            } else {
+                sb.append(stack.pop());
+            }
+        }
+        return sb.toString();
+    }
+}
@@ -1,6 +1,7 @@
 package com.lhc.datastructure.tree;
 
 import java.util.ArrayList;
+import java.util.function.BiConsumer;
 
 /**
  * 二分搜索树
@@ -396,6 +397,25 @@ public class AVLTree<K extends Comparable<K>, V> {
         return true;
     }
 
+    /**
+     * 中序遍历，按key从小到大访问每个键值对
+     *
+     * @param action
+     */
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        forEach(root, action);
+    }
+
+    private void forEach(Node node, BiConsumer<? super K, ? super V> action) {
+        if (node == null) {
+            return;
+        }
+
+        forEach(node.left, action);
+        action.accept(node.key, node.value);
+        forEach(node.right, action);
+    }
+
     private void inOrder(Node node, ArrayList<K> list) {
         if (node == null) {
             return;
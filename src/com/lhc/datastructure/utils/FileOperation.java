@@ -1,12 +1,17 @@
 package com.lhc.datastructure.utils;
 
 import java.io.BufferedInputStream;
+import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Locale;
 import java.util.Scanner;
+import java.util.function.Consumer;
 
 public class FileOperation {
 
@@ -57,6 +62,40 @@ public class FileOperation {
         return true;
     }
 
+    // 与readFile的分词方式相同，但是边读边把词语交给consumer，不会把整个文件或者所有词语放进内存
+    public static boolean readWords(String filename, Consumer<String> consumer){
+
+        if (filename == null || consumer == null){
+            System.out.println("filename is null or consumer is null");
+            return false;
+        }
+
+        File file = new File(filename);
+        if (!file.exists())
+            return false;
+
+        try (BufferedReader reader = Files.newBufferedReader(Paths.get(filename), StandardCharsets.UTF_8)) {
+            StringBuilder word = new StringBuilder();
+            int c;
+            while ((c = reader.read()) != -1) {
+                if (Character.isLetter((char) c))
+                    word.append((char) c);
+                else if (word.length() > 0) {
+                    consumer.accept(word.toString().toLowerCase());
+                    word.setLength(0);
+                }
+            }
+            if (word.length() > 0)
+                consumer.accept(word.toString().toLowerCase());
+        }
+        catch(IOException ioe){
+            System.out.println("Cannot open " + filename);
+            return false;
+        }
+
+        return true;
+    }
+
     // 寻找字符串s中，从start的位置开始的第一个字母字符的位置
     private static int firstCharacterIndex(String s, int start){
 